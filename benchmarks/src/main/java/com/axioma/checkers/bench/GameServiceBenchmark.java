@@ -0,0 +1,108 @@
+package com.axioma.checkers.bench;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.Game;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.Move;
+import com.axioma.checkers.model.MoveGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the rules in {@link GameService} over the {@link PositionCorpus}.
+ * Every operation covers the whole corpus of one phase; run with {@code -prof gc}
+ * for allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+    @Param({"OPENING", "MIDGAME", "ENDGAME"})
+    public PositionCorpus.Phase phase;
+
+    private final GameService logic = new GameService();
+    private final int[] buffer = new int[MoveGenerator.MAX_MOVES];
+    private final Game game = new Game();
+    private Board[] positions;
+    private Move[] firstMoves;
+    private Move[][] legalMoves;
+    private Board scratch;
+
+    @Setup
+    public void setUp() {
+        positions = PositionCorpus.positions(phase);
+        firstMoves = new Move[positions.length];
+        legalMoves = new Move[positions.length][];
+        for (int i = 0; i < positions.length; i++) {
+            legalMoves[i] = logic.getLegalMoves(positions[i], Color.BLACK).toArray(new Move[0]);
+            firstMoves[i] = legalMoves[i][0];
+        }
+        scratch = new Board();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void getLegalMoves(Blackhole bh) {
+        for (Board position : positions) {
+            bh.consume(logic.getLegalMoves(position, Color.BLACK));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void getLegalMovesPacked(Blackhole bh) {
+        for (Board position : positions) {
+            bh.consume(logic.getLegalMoves(position, Color.BLACK, buffer));
+        }
+    }
+
+    /**
+     * Checks every legal move of each position, as a client-facing server does per request.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void isLegalMove(Blackhole bh) {
+        for (int i = 0; i < positions.length; i++) {
+            for (Move move : legalMoves[i]) {
+                bh.consume(logic.isLegalMove(positions[i], move, Color.BLACK));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void applyMove(Blackhole bh) {
+        for (int i = 0; i < positions.length; i++) {
+            scratch.setMasks(positions[i].getWhiteMask(), positions[i].getBlackMask());
+            logic.applyMove(scratch, firstMoves[i]);
+            bh.consume(scratch.getKey());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void checkGameOver(Blackhole bh) {
+        for (Board position : positions) {
+            game.setFinished(false);
+            game.setWinner(null);
+            bh.consume(logic.checkGameOver(position, game));
+        }
+    }
+}
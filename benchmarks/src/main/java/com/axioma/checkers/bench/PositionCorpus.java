@@ -0,0 +1,85 @@
+package com.axioma.checkers.bench;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.MoveGenerator;
+import com.axioma.checkers.model.Squares;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fixed, seeded corpus of benchmark positions, all with Black to move and the game not over.
+ */
+public final class PositionCorpus {
+    public static final int SIZE = 16;
+
+    private static final long SEED = 20251019L;
+
+    /**
+     * Game phases covered by the corpus.
+     */
+    public enum Phase {
+        /** One to seven plies from the initial setup. */
+        OPENING,
+        /** Eleven to twenty-one plies of seeded random play. */
+        MIDGAME,
+        /** Two to four pieces per side on the middle rows. */
+        ENDGAME
+    }
+
+    private PositionCorpus() {
+    }
+
+    public static Board[] positions(Phase phase) {
+        GameService logic = new GameService();
+        Random random = new Random(SEED + phase.ordinal());
+        List<Board> positions = new ArrayList<>();
+        while (positions.size() < SIZE) {
+            Board board = phase == Phase.ENDGAME ? randomEndgame(random) : randomWalk(logic, random, phase);
+            if (board != null && logic.winnerOf(board.getWhiteMask(), board.getBlackMask()) == null) {
+                positions.add(board);
+            }
+        }
+        return positions.toArray(new Board[0]);
+    }
+
+    private static Board randomWalk(GameService logic, Random random, Phase phase) {
+        int plies = phase == Phase.OPENING ? 1 + 2 * random.nextInt(4) : 11 + 2 * random.nextInt(6);
+        Board board = new Board();
+        board.setupInitial();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        Color turn = Color.WHITE;
+        for (int ply = 0; ply < plies; ply++) {
+            int n = logic.getLegalMoves(board, turn, moves);
+            if (n == 0) return null;
+            logic.makeMove(board, moves[random.nextInt(n)]);
+            if (logic.winnerOf(board.getWhiteMask(), board.getBlackMask()) != null) return null;
+            turn = turn.opposite();
+        }
+        return board;
+    }
+
+    private static Board randomEndgame(Random random) {
+        int middle = 0;
+        for (int row = 1; row < Board.SIZE - 1; row++) {
+            middle |= Squares.rowMask(row);
+        }
+        int white = pick(random, middle, 2 + random.nextInt(3));
+        int black = pick(random, middle & ~white, 2 + random.nextInt(3));
+        Board board = new Board();
+        board.setMasks(white, black);
+        return board;
+    }
+
+    private static int pick(Random random, int allowed, int count) {
+        int mask = 0;
+        while (Integer.bitCount(mask) < count) {
+            int square = random.nextInt(Squares.COUNT);
+            if ((allowed & (1 << square)) != 0) mask |= 1 << square;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,51 @@
+package com.axioma.checkers.bench;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.view.Renderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of composing board frames with {@link Renderer}, written to a discarding writer so
+ * only formatting is measured; run with {@code -prof gc} to confirm it does not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RendererBenchmark {
+    @Param({"FULL", "DIFF"})
+    public Renderer.Mode mode;
+
+    private Board[] positions;
+    private Renderer renderer;
+
+    @Setup
+    public void setUp() {
+        positions = PositionCorpus.positions(PositionCorpus.Phase.MIDGAME);
+        renderer = new Renderer(Writer.nullWriter(), mode);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void renderBoard() {
+        for (Board position : positions) {
+            renderer.renderBoard(position);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.axioma.checkers.bench;
+
+import com.axioma.checkers.model.AssignmentStrategy;
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.MctsStrategy;
+import com.axioma.checkers.model.SearchStrategy;
+import com.axioma.checkers.model.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the computer's move choice over the {@link PositionCorpus}. The search runs
+ * to a fixed depth with a cleared table, so its score tracks move ordering and node cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+    private static final int SEARCH_DEPTH = 10;
+    private static final int MCTS_PLAYOUTS = 2000;
+
+    @Param({"OPENING", "MIDGAME", "ENDGAME"})
+    public PositionCorpus.Phase phase;
+
+    private final GameService logic = new GameService();
+    private final AssignmentStrategy assignment = new AssignmentStrategy();
+    private final TranspositionTable table = new TranspositionTable(16);
+    private final SearchStrategy search = new SearchStrategy(0, 0, SEARCH_DEPTH, table);
+    private final MctsStrategy mcts = new MctsStrategy(1, 0, MCTS_PLAYOUTS, 1 << 16);
+    private Board[] positions;
+
+    @Setup
+    public void setUp() {
+        positions = PositionCorpus.positions(phase);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void assignmentChooseMoveSequence(Blackhole bh) {
+        for (Board position : positions) {
+            bh.consume(assignment.chooseMoveSequence(position, logic));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void searchFixedDepth(Blackhole bh) {
+        for (Board position : positions) {
+            table.clear();
+            bh.consume(search.chooseMoveSequence(position, logic));
+        }
+    }
+
+    /**
+     * A fixed number of single-threaded playouts per position; multiply by
+     * {@code MCTS_PLAYOUTS} for playouts per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void mctsChooseMoveSequence(Blackhole bh) {
+        for (Board position : positions) {
+            bh.consume(mcts.chooseMoveSequence(position, logic));
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.io.GameRecordReader;
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.EvaluationWeights;
+import com.axioma.checkers.model.Evaluator;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.MoveGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fits {@link EvaluationWeights} to recorded games (see {@code SelfPlayRunner}) with a
+ * Texel-style logistic regression: the evaluation of a position, scaled by a constant fitted
+ * first, should predict through a sigmoid whether the side to move went on to win.
+ *
+ * <p>The corpus is never held in memory. Every pass streams the record file, replays each
+ * finished game and packs the positions it reaches into fixed-size chunks; a chunk is
+ * handed to a fork-join pool, which splits it further and sums the error and its gradient,
+ * while the next chunk is filled. Only a few chunks per thread are in flight, and a chunk
+ * is reused once its sums are collected, so memory stays flat however many positions the
+ * file holds. Each pass takes one Adam step on the gradient.
+ *
+ * <p>The material weight anchors the scale and is kept as given; every distance weight and
+ * the runner and tempo bonuses are fitted.
+ *
+ * <p>Usage: {@code EvaluationTuner <records> <weightsOut> [passes] [learningRate] [threads] [skipPlies] [initialWeights]};
+ * the learning rate is the Adam step size in centipieces, {@value #DEFAULT_LEARNING_RATE} by
+ * default, and may need raising or lowering on a corpus whose error barely moves or swings.
+ * {@code RulesCheck gradient} checks the fitted gradient against finite differences.
+ */
+public final class EvaluationTuner {
+    /** Positions per chunk handed to the pool. */
+    static final int CHUNK_POSITIONS = 1 << 16;
+
+    /** Chunk slices below this size are summed without splitting further. */
+    private static final int SLICE_POSITIONS = 4096;
+
+    /** Candidate sigmoid scales, in centipieces per e-fold of the odds, tried before tuning. */
+    private static final double[] SCALES = scales(10, 2000, 40);
+
+    static final double DEFAULT_LEARNING_RATE = 1.0;
+    private static final double BETA1 = 0.9;
+    private static final double BETA2 = 0.999;
+    private static final double EPSILON = 1e-8;
+
+    private final Path records;
+    private final int skipPlies;
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+    private final GameService logic = new GameService();
+
+    /**
+     * @param records game-record file to stream
+     * @param threads fork-join parallelism
+     * @param skipPlies leading plies of every game left out, where openings repeat
+     */
+    public EvaluationTuner(Path records, int threads, int skipPlies) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive");
+        if (skipPlies < 0) throw new IllegalArgumentException("skipPlies cannot be negative");
+        this.records = records;
+        this.skipPlies = skipPlies;
+        this.pool = new ForkJoinPool(threads);
+        this.maxInFlight = 2 * threads;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: EvaluationTuner <records> <weightsOut> [passes] [learningRate] [threads] [skipPlies] [initialWeights]");
+            return;
+        }
+        int passes = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        double learningRate = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_LEARNING_RATE;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int skipPlies = args.length > 5 ? Integer.parseInt(args[5]) : 4;
+        EvaluationWeights initial = args.length > 6 ? EvaluationWeights.load(Path.of(args[6])) : EvaluationWeights.defaults();
+
+        EvaluationTuner tuner = new EvaluationTuner(Path.of(args[0]), threads, skipPlies);
+        long start = System.nanoTime();
+        EvaluationWeights tuned = tuner.tune(initial, passes, learningRate);
+        tuned.write(Path.of(args[1]));
+        System.out.printf("Tuned in %.1f s: %s%n", (System.nanoTime() - start) / 1e9, tuned);
+    }
+
+    /**
+     * Fits the sigmoid scale to {@code initial}, then runs {@code passes} gradient steps.
+     * @param learningRate Adam step size, in centipieces
+     * @return the fitted weights, rounded to whole centipieces
+     */
+    public EvaluationWeights tune(EvaluationWeights initial, int passes, double learningRate) throws IOException {
+        if (!(learningRate > 0)) throw new IllegalArgumentException("learningRate must be positive");
+        double[] weights = Arrays.stream(initial.toArray()).asDoubleStream().toArray();
+        Sums fit = pass(weights, SCALES);
+        if (fit.positions == 0) throw new IllegalArgumentException(records + " has no positions from finished games");
+        int bestScale = 0;
+        for (int i = 1; i < SCALES.length; i++) {
+            if (fit.errors[i] < fit.errors[bestScale]) bestScale = i;
+        }
+        double[] scale = {SCALES[bestScale]};
+        System.out.printf("%d positions; scale %.1f, error %.6f%n",
+                fit.positions, scale[0], fit.errors[bestScale] / fit.positions);
+
+        double[] m = new double[weights.length];
+        double[] v = new double[weights.length];
+        for (int t = 1; t <= passes; t++) {
+            Sums sums = pass(weights, scale);
+            // Material stays fixed: it and the distance weights are collinear, and it sets the units
+            for (int i = 1; i < weights.length; i++) {
+                double g = sums.gradient[i] / sums.positions;
+                m[i] = BETA1 * m[i] + (1 - BETA1) * g;
+                v[i] = BETA2 * v[i] + (1 - BETA2) * g * g;
+                double mHat = m[i] / (1 - Math.pow(BETA1, t));
+                double vHat = v[i] / (1 - Math.pow(BETA2, t));
+                weights[i] -= learningRate * mHat / (Math.sqrt(vHat) + EPSILON);
+            }
+            if (t % 10 == 0 || t == passes) {
+                System.out.printf("pass %d: error %.6f%n", t, sums.errors[0] / sums.positions);
+            }
+        }
+        int[] rounded = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) rounded[i] = (int) Math.round(weights[i]);
+        return EvaluationWeights.fromArray(rounded);
+    }
+
+    /**
+     * Streams the corpus once and sums the squared error under every scale in {@code scales},
+     * and its gradient with respect to {@code weights} under the first.
+     */
+    Sums pass(double[] weights, double[] scales) throws IOException {
+        Sums total = new Sums(scales.length);
+        ArrayDeque<Slice> inFlight = new ArrayDeque<>();
+        Chunk chunk = new Chunk();
+        try (GameRecordReader reader = new GameRecordReader(records)) {
+            Board board = new Board();
+            while (reader.next()) {
+                Color winner = reader.getWinner();
+                if (winner == null) continue;
+                board.setMasks(reader.getWhite(), reader.getBlack());
+                for (int i = 0; i < reader.getMoveCount(); i++) {
+                    int move = reader.getMove(i);
+                    if (i >= skipPlies) {
+                        int white = board.getWhiteMask();
+                        Color mover = (white & (1 << MoveGenerator.from(move))) != 0 ? Color.WHITE : Color.BLACK;
+                        chunk.add(white, board.getBlackMask(), mover, winner == mover);
+                        if (chunk.size == CHUNK_POSITIONS) {
+                            chunk = submit(chunk, weights, scales, inFlight, total);
+                        }
+                    }
+                    logic.makeMove(board, move);
+                }
+            }
+        }
+        if (chunk.size > 0) submit(chunk, weights, scales, inFlight, total);
+        while (!inFlight.isEmpty()) total.add(inFlight.poll().join());
+        return total;
+    }
+
+    /**
+     * Queues a full chunk and returns an empty one, waiting for the oldest chunk in flight
+     * and reusing it once the limit is reached.
+     */
+    private Chunk submit(Chunk full, double[] weights, double[] scales, ArrayDeque<Slice> inFlight, Sums total) {
+        Slice slice = new Slice(full, 0, full.size, weights, scales);
+        pool.execute(slice);
+        inFlight.add(slice);
+        if (inFlight.size() < maxInFlight) return new Chunk();
+        Slice oldest = inFlight.poll();
+        total.add(oldest.join());
+        oldest.chunk.size = 0;
+        return oldest.chunk;
+    }
+
+    private static double[] scales(double low, double high, int count) {
+        double[] scales = new double[count];
+        for (int i = 0; i < count; i++) scales[i] = low * Math.pow(high / low, (double) i / (count - 1));
+        return scales;
+    }
+
+    /**
+     * Positions of one chunk as parallel arrays.
+     */
+    private static final class Chunk {
+        final int[] white = new int[CHUNK_POSITIONS];
+        final int[] black = new int[CHUNK_POSITIONS];
+        final byte[] side = new byte[CHUNK_POSITIONS];
+        final byte[] won = new byte[CHUNK_POSITIONS];
+        int size;
+
+        void add(int whiteMask, int blackMask, Color mover, boolean moverWon) {
+            white[size] = whiteMask;
+            black[size] = blackMask;
+            side[size] = (byte) mover.ordinal();
+            won[size] = (byte) (moverWon ? 1 : 0);
+            size++;
+        }
+    }
+
+    /**
+     * Error and gradient totals over some positions.
+     */
+    static final class Sums {
+        final double[] errors;
+        final double[] gradient = new double[EvaluationWeights.PARAMETERS];
+        long positions;
+
+        Sums(int scales) {
+            this.errors = new double[scales];
+        }
+
+        void add(Sums other) {
+            for (int i = 0; i < errors.length; i++) errors[i] += other.errors[i];
+            for (int i = 0; i < gradient.length; i++) gradient[i] += other.gradient[i];
+            positions += other.positions;
+        }
+    }
+
+    /**
+     * Sums a range of one chunk, splitting in halves down to {@link #SLICE_POSITIONS}.
+     */
+    private static final class Slice extends RecursiveTask<Sums> {
+        private static final long serialVersionUID = 1L;
+        private static final Color[] COLORS = Color.values();
+
+        final Chunk chunk;
+        private final int from;
+        private final int to;
+        private final double[] weights;
+        private final double[] scales;
+
+        Slice(Chunk chunk, int from, int to, double[] weights, double[] scales) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+            this.weights = weights;
+            this.scales = scales;
+        }
+
+        @Override
+        protected Sums compute() {
+            if (to - from > SLICE_POSITIONS) {
+                int middle = (from + to) >>> 1;
+                Slice right = new Slice(chunk, middle, to, weights, scales);
+                right.fork();
+                Sums sums = new Slice(chunk, from, middle, weights, scales).compute();
+                sums.add(right.join());
+                return sums;
+            }
+            Sums sums = new Sums(scales.length);
+            int[] terms = new int[EvaluationWeights.PARAMETERS];
+            for (int p = from; p < to; p++) {
+                Evaluator.terms(chunk.white[p], chunk.black[p], COLORS[chunk.side[p]], terms);
+                double score = 0;
+                for (int i = 0; i < terms.length; i++) score += terms[i] * weights[i];
+                double result = chunk.won[p];
+                for (int k = 0; k < scales.length; k++) {
+                    double predicted = sigmoid(score / scales[k]);
+                    sums.errors[k] += (result - predicted) * (result - predicted);
+                }
+                // d/dw (result - s(x/K))^2 = -2 (result - s) s (1 - s) terms / K
+                double predicted = sigmoid(score / scales[0]);
+                double factor = -2 * (result - predicted) * predicted * (1 - predicted) / scales[0];
+                for (int i = 0; i < terms.length; i++) sums.gradient[i] += factor * terms[i];
+            }
+            sums.positions = to - from;
+            return sums;
+        }
+
+        private static double sigmoid(double x) {
+            return 1 / (1 + Math.exp(-x));
+        }
+    }
+}
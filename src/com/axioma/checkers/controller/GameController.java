@@ -16,17 +16,28 @@ public final class GameController {
     private final Renderer renderer;
     private final InputHandler input;
     private final ComputerStrategy ai;
+    private final PonderingStrategy pondering;
 
     
 
     
     public GameController(Board board, Game game, GameService logic, Renderer renderer, InputHandler input, ComputerStrategy ai) {
+        this(board, game, logic, renderer, input, ai, null);
+    }
+
+    /**
+     * @param pondering strategy to ponder with while the human thinks, usually wrapped by
+     *                  {@code ai}, or null to leave the CPU idle
+     */
+    public GameController(Board board, Game game, GameService logic, Renderer renderer, InputHandler input,
+                          ComputerStrategy ai, PonderingStrategy pondering) {
         this.board = board;
         this.game = game;
         this.logic = logic;
         this.renderer = renderer;
         this.input = input;
         this.ai = ai;
+        this.pondering = pondering;
     }
     
 
@@ -63,19 +74,21 @@ public final class GameController {
             game.setWinner(Color.BLACK);
             return true;
         }
+        if (pondering != null) pondering.ponder(board);
         while (true) {
             String line = input.promptLine();
             if (line == null || line.equalsIgnoreCase("q")) {
                 renderer.showMessage("Goodbye!");
                 return false; // user quit
             }
-            Move move = input.parseMove(line);
+            Move move = InputHandler.parseMove(line);
             if (move == null) {
                 renderer.showMessage("Invalid input. Use format like A3->B4.");
                 continue;
             }
             if (logic.isLegalMove(board, move, Color.WHITE)) {
                 logic.applyMove(board, move);
+                renderer.renderMove(Color.WHITE, move);
                 return true;
             }
             renderer.showMessage("Illegal move. Try again.");
@@ -86,9 +99,13 @@ public final class GameController {
       
         var sequence = ai.chooseMoveSequence(board, logic);
         if (sequence != null && !sequence.isEmpty()) {
-            renderer.showMessage("Computer plays: " + formatSequence(sequence));
+            // Quiet mode lists both sides' moves the same way, one per line
+            if (renderer.getMode() != Renderer.Mode.QUIET) {
+                renderer.showMessage("Computer plays: " + formatSequence(sequence));
+            }
             for (var m : sequence) {
                 logic.applyMove(board, m);
+                renderer.renderMove(Color.BLACK, m);
             }
         }
         if (sequence.isEmpty()) {
@@ -120,17 +137,6 @@ public final class GameController {
     }
 
     private String formatMove(Move m) {
-        char fromCol = (char) ('A' + m.getFromCol());
-        int fromRow = Board.SIZE - m.getFromRow();
-        char toCol = (char) ('A' + m.getToCol());
-        int toRow = Board.SIZE - m.getToRow();
-        return new StringBuilder()
-                .append(fromCol).append(fromRow)
-                .append("->")
-                .append(toCol).append(toRow)
-                .toString();
+        return Renderer.formatMove(m);
     }
 }
-
-
-
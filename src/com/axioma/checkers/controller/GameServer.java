@@ -0,0 +1,222 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.ComputerStrategy;
+import com.axioma.checkers.model.EngineMetrics;
+import com.axioma.checkers.model.EngineService;
+import com.axioma.checkers.model.MeteredStrategy;
+import com.axioma.checkers.model.Move;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * TCP server hosting many independent games, one {@link GameSession} per connection.
+ * The client plays White with the console protocol of {@link GameController}; the computer
+ * plays Black.
+ *
+ * <p>Connections only do blocking I/O and rule checks on their own thread, while computer
+ * turns are handed to an {@link EngineService} with its fixed pool of engine threads, so slow
+ * engines cannot starve I/O and engine memory does not grow with the session count. A
+ * computer turn that misses the move deadline is answered with the service's quick move.
+ *
+ * <p>Protocol, one line per message. The server greets with {@code READY}. The client sends
+ * a move such as {@code A3->B4} or {@code q} and gets exactly one line back:
+ * {@code MOVE <moves>} with the computer's reply as comma-separated moves,
+ * {@code ERROR <reason>} for a rejected move, {@code GAMEOVER <WHITE|BLACK> [<moves>]} after
+ * which the connection closes, or {@code BYE}. A server at its session limit answers
+ * {@code BUSY} and closes.
+ *
+ * <p>Usage: {@code GameServer [port] [engine] [engineThreads] [maxSessions] [deadlineMillis] [queueCapacity]},
+ * with engines as in {@link SelfPlayRunner}. Engine metrics are registered over JMX as
+ * {@code name=server} and printed with the session status every ten seconds.
+ */
+public final class GameServer implements AutoCloseable {
+    /** Idle clients are dropped after this long without a message. */
+    static final int READ_TIMEOUT_MILLIS = 5 * 60 * 1000;
+
+    /** Connection threads only parse lines and check rules, so a small stack is enough. */
+    private static final long SESSION_STACK_BYTES = 256 * 1024;
+
+    private final int port;
+    private final int maxSessions;
+    private final Semaphore sessionPermits;
+    private final EngineService engines;
+    private final long moveDeadlineMillis;
+    private final ExecutorService connections;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong totalSessions = new AtomicLong();
+    private final AtomicLong totalMoves = new AtomicLong();
+    private volatile ServerSocket serverSocket;
+    private Thread acceptor;
+
+    /**
+     * @param port TCP port, or 0 for any free port
+     * @param engines service running computer turns; the caller keeps ownership
+     * @param moveDeadlineMillis longest a client waits for a computer turn
+     * @param maxSessions connections served at the same time
+     */
+    public GameServer(int port, EngineService engines, long moveDeadlineMillis, int maxSessions) {
+        if (moveDeadlineMillis < 1) throw new IllegalArgumentException("moveDeadlineMillis must be positive");
+        if (maxSessions < 1) throw new IllegalArgumentException("maxSessions must be positive");
+        this.port = port;
+        this.maxSessions = maxSessions;
+        this.sessionPermits = new Semaphore(maxSessions);
+        this.engines = engines;
+        this.moveDeadlineMillis = moveDeadlineMillis;
+        // Java 17 has no virtual threads: sessions get cheap daemon platform threads instead
+        this.connections = Executors.newCachedThreadPool(threads("session", SESSION_STACK_BYTES));
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        String spec = args.length > 1 ? args[1] : "assignment";
+        int engineThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int maxSessions = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+        long deadlineMillis = args.length > 4 ? Long.parseLong(args[4]) : 1000;
+        int queueCapacity = args.length > 5 ? Integer.parseInt(args[5]) : 64 * engineThreads;
+        EngineMetrics metrics = new EngineMetrics();
+        metrics.register("server");
+        Supplier<ComputerStrategy> engine = SelfPlayRunner.engine(spec);
+        EngineService engines = new EngineService(() -> new MeteredStrategy(engine.get(), metrics),
+                engineThreads, queueCapacity, 16);
+        GameServer server = new GameServer(port, engines, deadlineMillis, maxSessions);
+        server.start();
+        System.out.printf("Listening on port %d (%s, %d engine threads, %d ms deadline, up to %d sessions)%n",
+                server.getPort(), spec, engineThreads, deadlineMillis, maxSessions);
+        new MetricsReporter(System.out, 10, () -> server.status() + System.lineSeparator() + metrics.format());
+    }
+
+    /**
+     * @return a one-line summary of sessions and engine queue health
+     */
+    public String status() {
+        return String.format("sessions %d active, %d total; moves %d; engine queue %d, wait avg %.2f ms max %.2f ms, "
+                        + "batch avg %.1f; %d engine, %d fallback, %d rejected",
+                getActiveSessions(), getTotalSessions(), getTotalMoves(), engines.getQueueDepth(),
+                engines.getAverageWaitMillis(), engines.getMaxWaitMillis(), engines.getAverageBatchSize(),
+                engines.getCompleted(), engines.getFallbacks(), engines.getRejected());
+    }
+
+    /**
+     * Binds the port and starts accepting connections on a background thread.
+     */
+    public void start() throws IOException {
+        ServerSocket socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(port), 1024);
+        serverSocket = socket;
+        acceptor = new Thread(this::acceptLoop, "game-server-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * @return the bound port, useful after starting on port 0
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    public long getTotalSessions() {
+        return totalSessions.get();
+    }
+
+    /**
+     * @return moves played by clients over all sessions
+     */
+    public long getTotalMoves() {
+        return totalMoves.get();
+    }
+
+    public EngineService getEngines() {
+        return engines;
+    }
+
+    /**
+     * Stops accepting and drops every session; the engine service is left running.
+     */
+    @Override
+    public void close() throws IOException {
+        ServerSocket socket = serverSocket;
+        if (socket != null) socket.close();
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        ServerSocket socket = serverSocket;
+        while (!socket.isClosed()) {
+            Socket client;
+            try {
+                client = socket.accept();
+            } catch (SocketException ex) {
+                return; // closed
+            } catch (IOException ex) {
+                continue;
+            }
+            if (!sessionPermits.tryAcquire()) {
+                reject(client);
+                continue;
+            }
+            connections.execute(() -> serve(client));
+        }
+    }
+
+    private void serve(Socket client) {
+        activeSessions.incrementAndGet();
+        totalSessions.incrementAndGet();
+        try (Socket socket = client) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            new GameSession(socket, this).run();
+        } catch (IOException ex) {
+            // The client went away; nothing to clean up beyond the socket
+        } finally {
+            activeSessions.decrementAndGet();
+            sessionPermits.release();
+        }
+    }
+
+    private void reject(Socket client) {
+        try (Socket socket = client) {
+            socket.getOutputStream().write(("BUSY " + maxSessions + " sessions\n").getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException ex) {
+            // Rejected anyway
+        }
+    }
+
+    /**
+     * Runs a computer turn on the engine service and waits for it, at most until the deadline.
+     */
+    List<Move> chooseMoveSequence(Board board) throws InterruptedException {
+        return engines.chooseMoveSequence(board, moveDeadlineMillis);
+    }
+
+    void countMove() {
+        totalMoves.incrementAndGet();
+    }
+
+    private static ThreadFactory threads(String name, long stackBytes) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(null, task, name + "-" + counter.incrementAndGet(), stackBytes);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
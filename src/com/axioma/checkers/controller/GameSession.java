@@ -0,0 +1,114 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.Game;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.Move;
+import com.axioma.checkers.view.InputHandler;
+import com.axioma.checkers.view.Renderer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * One client game of a {@link GameServer}: the turn loop of {@link GameController} driven
+ * by protocol lines instead of the console. The client plays White and moves first.
+ */
+final class GameSession {
+    private final BufferedReader in;
+    private final Writer out;
+    private final GameServer server;
+    private final Board board = new Board();
+    private final Game game = new Game();
+    private final GameService logic = new GameService();
+
+    GameSession(Socket socket, GameServer server) throws IOException {
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+        this.server = server;
+        board.setupInitial();
+    }
+
+    /**
+     * Plays until the game ends, the client quits or the connection drops.
+     */
+    void run() throws IOException {
+        send("READY");
+        while (!game.isFinished()) {
+            String line = in.readLine();
+            if (line == null) return;
+            line = line.trim();
+            if (line.equalsIgnoreCase("q")) {
+                send("BYE");
+                return;
+            }
+            Move move = InputHandler.parseMove(line);
+            if (move == null) {
+                send("ERROR Invalid input. Use format like A3->B4.");
+                continue;
+            }
+            if (!logic.isLegalMove(board, move, Color.WHITE)) {
+                send("ERROR Illegal move.");
+                continue;
+            }
+            logic.applyMove(board, move);
+            server.countMove();
+            String reply = logic.checkGameOver(board, game) ? "" : playComputerTurn();
+            if (game.isFinished()) {
+                send(reply.isEmpty() ? "GAMEOVER " + game.getWinner() : "GAMEOVER " + game.getWinner() + " " + reply);
+            } else {
+                send("MOVE " + reply);
+            }
+        }
+    }
+
+    /**
+     * @return the computer's moves in protocol notation, empty if it had none
+     */
+    private String playComputerTurn() throws IOException {
+        List<Move> sequence;
+        try {
+            sequence = server.chooseMoveSequence(board);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Server shutting down", ex);
+        }
+        if (sequence == null || sequence.isEmpty()) {
+            finish(Color.WHITE);
+            return "";
+        }
+        StringBuilder reply = new StringBuilder();
+        for (int i = 0; i < sequence.size(); i++) {
+            Move move = sequence.get(i);
+            if (!logic.isLegalMove(board, move, Color.BLACK)) {
+                // An engine bug must not corrupt the session: treat it as a forfeit
+                finish(Color.WHITE);
+                return reply.toString();
+            }
+            logic.applyMove(board, move);
+            if (i > 0) reply.append(',');
+            reply.append(Renderer.formatMove(move));
+        }
+        logic.checkGameOver(board, game);
+        return reply.toString();
+    }
+
+    private void finish(Color winner) {
+        game.setFinished(true);
+        game.setWinner(winner);
+    }
+
+    private void send(String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,169 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.Move;
+import com.axioma.checkers.model.MoveGenerator;
+import com.axioma.checkers.view.InputHandler;
+import com.axioma.checkers.view.Renderer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load-generator client for {@link GameServer}. Keeps {@code concurrency} connections busy,
+ * each playing whole games with random legal White moves and mirroring the server's replies
+ * on a local board, and reports sessions and moves per second with round-trip latency.
+ *
+ * <p>Usage: {@code LoadGenerator <host> <port> <sessions> <concurrency>}
+ */
+public final class LoadGenerator {
+    private static final long SEED = 11L;
+
+    private final String host;
+    private final int port;
+
+    public LoadGenerator(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.out.println("Usage: LoadGenerator <host> <port> <sessions> <concurrency>");
+            return;
+        }
+        int sessions = Integer.parseInt(args[2]);
+        int concurrency = Integer.parseInt(args[3]);
+        LoadGenerator generator = new LoadGenerator(args[0], Integer.parseInt(args[1]));
+        long start = System.nanoTime();
+        Result result = generator.run(sessions, concurrency);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d sessions (%d finished, %d rejected, %d failed), %d moves in %.1f s: %.1f sessions/s, %.1f moves/s%n",
+                sessions, result.finished, result.rejected, result.failed, result.moves, seconds,
+                sessions / seconds, result.moves / seconds);
+        System.out.println(result.latency.percentiles("round trip"));
+    }
+
+    /**
+     * Plays {@code sessions} games over {@code concurrency} simultaneous connections.
+     */
+    public Result run(int sessions, int concurrency) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int t = 0; t < concurrency; t++) {
+            futures.add(pool.submit(() -> {
+                Client client = new Client();
+                for (int s = next.getAndIncrement(); s < sessions; s = next.getAndIncrement()) {
+                    client.play(s);
+                }
+                return client.result;
+            }));
+        }
+        Result total = new Result();
+        try {
+            for (Future<Result> future : futures) {
+                total.add(future.get());
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return total;
+    }
+
+    private final class Client {
+        private final GameService logic = new GameService();
+        private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+        private final Result result = new Result();
+
+        void play(int index) {
+            Random random = new Random(SEED + index);
+            Board board = new Board();
+            board.setupInitial();
+            try (Socket socket = new Socket(host, port)) {
+                socket.setTcpNoDelay(true);
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+                String line = in.readLine();
+                if (line == null || line.startsWith("BUSY")) {
+                    result.rejected++;
+                    return;
+                }
+                while (true) {
+                    int n = logic.getLegalMoves(board, Color.WHITE, moves);
+                    if (n == 0) break;
+                    Move move = MoveGenerator.toMove(moves[random.nextInt(n)]);
+                    long start = System.nanoTime();
+                    out.write(Renderer.formatMove(move));
+                    out.write('\n');
+                    out.flush();
+                    line = in.readLine();
+                    result.latency.add(System.nanoTime() - start);
+                    result.moves++;
+                    logic.applyMove(board, move);
+                    if (line == null || line.startsWith("ERROR")) {
+                        result.failed++;
+                        return;
+                    }
+                    if (line.startsWith("GAMEOVER")) {
+                        result.finished++;
+                        return;
+                    }
+                    // "MOVE <moves>": mirror the computer's reply
+                    for (String reply : line.substring(5).split(",")) {
+                        logic.applyMove(board, InputHandler.parseMove(reply));
+                    }
+                }
+                // The server should have ended the game when White ran out of moves
+                result.failed++;
+            } catch (IOException ex) {
+                result.failed++;
+            }
+        }
+    }
+
+    /**
+     * Aggregated load results.
+     */
+    public static final class Result {
+        private final SelfPlayRunner.LongList latency = new SelfPlayRunner.LongList();
+        private int finished;
+        private int rejected;
+        private int failed;
+        private long moves;
+
+        void add(Result other) {
+            finished += other.finished;
+            rejected += other.rejected;
+            failed += other.failed;
+            moves += other.moves;
+            latency.addAll(other.latency);
+        }
+
+        public int getFinished() {
+            return finished;
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+    }
+}
@@ -5,18 +5,58 @@ import com.axioma.checkers.model.Game;
 import com.axioma.checkers.model.GameService;
 import com.axioma.checkers.model.AssignmentStrategy;
 import com.axioma.checkers.model.ComputerStrategy;
+import com.axioma.checkers.model.EngineMetrics;
+import com.axioma.checkers.model.MeteredStrategy;
+import com.axioma.checkers.model.PonderingStrategy;
 import com.axioma.checkers.view.Renderer;
 import com.axioma.checkers.view.InputHandler;
 
+import java.io.OutputStreamWriter;
+import java.util.Locale;
+
+/**
+ * Console entry point.
+ *
+ * <p>Usage: {@code Main [--render full|diff|quiet] [--ponder millis]}; {@code diff} redraws only
+ * the changed squares and {@code quiet} lists the moves without a board, for piped batch runs.
+ * {@code --ponder} plays with a search of the given budget per move that keeps searching
+ * the likely replies while the human thinks, instead of the assignment rules.
+ */
 public final class Main {
     public static void main(String[] args) {
+        Renderer.Mode mode = Renderer.Mode.FULL;
+        long ponderMillis = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--render")) {
+                    mode = Renderer.Mode.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                } else if (args[i].equals("--ponder")) {
+                    ponderMillis = Long.parseLong(args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            // NumberFormatException, from a bad --ponder value, is an IllegalArgumentException too
+            System.out.println("Usage: Main [--render full|diff|quiet] [--ponder millis]");
+            return;
+        }
         Board board = new Board();
         board.setupInitial();
         Game game = new Game();
         GameService logic = new GameService();
-        Renderer renderer = new Renderer();
+        Renderer renderer = new Renderer(new OutputStreamWriter(System.out), mode);
         InputHandler input = new InputHandler();
-        ComputerStrategy ai = new AssignmentStrategy();
+        EngineMetrics metrics = new EngineMetrics();
+        metrics.register("console");
+        if (ponderMillis > 0) {
+            try (PonderingStrategy pondering = new PonderingStrategy(ponderMillis, 64)) {
+                ComputerStrategy ai = new MeteredStrategy(pondering, metrics);
+                new GameController(board, game, logic, renderer, input, ai, pondering).run();
+            }
+            return;
+        }
+        ComputerStrategy ai = new MeteredStrategy(new AssignmentStrategy(), metrics);
 
         new GameController(board, game, logic, renderer, input, ai).run();
     }
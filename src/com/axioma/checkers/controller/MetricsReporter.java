@@ -0,0 +1,32 @@
+package com.axioma.checkers.controller;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Prints a metrics line at a fixed period on a daemon thread, for scraping during load tests.
+ */
+final class MetricsReporter implements AutoCloseable {
+    private final ScheduledExecutorService timer;
+
+    /**
+     * @param line called on every tick; its result is printed as is
+     */
+    MetricsReporter(PrintStream out, long periodSeconds, Supplier<String> line) {
+        if (periodSeconds < 1) throw new IllegalArgumentException("periodSeconds must be positive");
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(() -> out.println(line.get()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
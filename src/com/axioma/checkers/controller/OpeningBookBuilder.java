@@ -0,0 +1,136 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.io.GameRecordReader;
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.MoveGenerator;
+import com.axioma.checkers.model.OpeningBook;
+import com.axioma.checkers.model.Squares;
+import com.axioma.checkers.model.Zobrist;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds an {@link OpeningBook} from the first plies of recorded self-play games
+ * (see {@code SelfPlayRunner}). Records store each hop of a capture chain as its own move;
+ * a ply here is a whole turn, and only the position where a turn starts goes into the book,
+ * since that is where {@code BookStrategy} probes it.
+ *
+ * <p>Usage: {@code OpeningBookBuilder <records> <book> [plies] [minGames]}
+ */
+public final class OpeningBookBuilder {
+    private final GameService logic = new GameService();
+    /** First entry of each position; the other moves of the position follow {@link #next}. */
+    private final Map<Long, Integer> heads = new HashMap<>();
+    private long[] keys = new long[1024];
+    private int[] next = new int[1024];
+    private int[] moves = new int[1024];
+    private int[] games = new int[1024];
+    private int[] wins = new int[1024];
+    private int count;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: OpeningBookBuilder <records> <book> [plies] [minGames]");
+            return;
+        }
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        int minGames = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        OpeningBookBuilder builder = new OpeningBookBuilder();
+        int recorded = builder.addGames(Path.of(args[0]), plies);
+        OpeningBook book = builder.build(minGames);
+        book.write(Path.of(args[1]));
+        System.out.printf("%d games, %d book entries%n", recorded, book.size());
+    }
+
+    /**
+     * Adds the first move of each of the first {@code plies} turns of every finished game in
+     * a record file. A turn ends when the other side moves, so the hops of a capture chain
+     * count once.
+     * @return the number of games used
+     */
+    int addGames(Path records, int plies) throws IOException {
+        int used = 0;
+        try (GameRecordReader reader = new GameRecordReader(records)) {
+            Board board = new Board();
+            while (reader.next()) {
+                Color winner = reader.getWinner();
+                if (winner == null) continue;
+                board.setMasks(reader.getWhite(), reader.getBlack());
+                int turns = 0;
+                Color previous = null;
+                for (int i = 0; i < reader.getMoveCount(); i++) {
+                    int move = reader.getMove(i);
+                    Color mover = (board.getWhiteMask() & (1 << MoveGenerator.from(move))) != 0 ? Color.WHITE : Color.BLACK;
+                    if (mover != previous) {
+                        if (++turns > plies) break;
+                        add(board, mover, move, winner == mover);
+                        previous = mover;
+                    }
+                    logic.makeMove(board, move);
+                }
+                used++;
+            }
+        }
+        return used;
+    }
+
+    /**
+     * @return a book of every entry seen at least {@code minGames} times
+     */
+    OpeningBook build(int minGames) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (games[i] < minGames) continue;
+            keys[kept] = keys[i];
+            moves[kept] = moves[i];
+            games[kept] = games[i];
+            wins[kept] = wins[i];
+            kept++;
+        }
+        count = kept;
+        heads.clear();
+        return OpeningBook.of(keys, moves, games, wins, kept);
+    }
+
+    private void add(Board board, Color mover, int move, boolean won) {
+        long key;
+        if (mover == Color.BLACK) {
+            key = Zobrist.withSide(board.getKey(), Color.BLACK);
+        } else {
+            // Seen from Black's side: rotate the board, swap the colors and rotate the move
+            int white = Squares.mirror(board.getBlackMask());
+            int black = Squares.mirror(board.getWhiteMask());
+            key = Zobrist.withSide(Zobrist.of(white, black), Color.BLACK);
+            move = MoveGenerator.mirror(move);
+        }
+        Integer head = heads.get(key);
+        int slot = head == null ? -1 : head;
+        while (slot >= 0 && moves[slot] != move) slot = next[slot];
+        if (slot < 0) {
+            slot = append(key, move, head == null ? -1 : head);
+            heads.put(key, slot);
+        }
+        games[slot]++;
+        if (won) wins[slot]++;
+    }
+
+    private int append(long key, int move, int nextSlot) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            next = Arrays.copyOf(next, count * 2);
+            moves = Arrays.copyOf(moves, count * 2);
+            games = Arrays.copyOf(games, count * 2);
+            wins = Arrays.copyOf(wins, count * 2);
+        }
+        keys[count] = key;
+        moves[count] = move;
+        next[count] = nextSlot;
+        return count++;
+    }
+}
@@ -0,0 +1,152 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.Game;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.Move;
+import com.axioma.checkers.model.MoveGenerator;
+import com.axioma.checkers.model.Squares;
+import com.axioma.checkers.view.Renderer;
+
+import java.util.List;
+
+/**
+ * Counts the leaf nodes of the move tree to a fixed depth, with an optional per-root-move
+ * breakdown ("divide"). A position where the game is over has no children.
+ *
+ * <p>Usage: {@code Perft <depth> [--position "<32 squares> <w|b>"] [--generator object|packed|both] [--divide]}
+ * <br>The position lists the 32 dark squares from the top-left as {@code w}, {@code b} or
+ * {@code .}, followed by the side to move. The default is the initial setup with White to move.
+ */
+public final class Perft {
+    private final GameService logic = new GameService();
+    private final int[][] buffers = new int[64][MoveGenerator.MAX_MOVES];
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: Perft <depth> [--position \"<32 squares> <w|b>\"] [--generator object|packed|both] [--divide]");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        Board board = new Board();
+        board.setupInitial();
+        Color side = Color.WHITE;
+        String generator = "packed";
+        boolean divide = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--position":
+                    String[] parts = args[++i].trim().split("\\s+");
+                    board = parsePosition(parts[0]);
+                    side = parts.length > 1 && parts[1].equalsIgnoreCase("b") ? Color.BLACK : Color.WHITE;
+                    break;
+                case "--generator":
+                    generator = args[++i];
+                    break;
+                case "--divide":
+                    divide = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Perft perft = new Perft();
+        long objectNodes = -1;
+        long packedNodes = -1;
+        if (generator.equals("object") || generator.equals("both")) {
+            objectNodes = perft.report("object", board, side, depth, divide);
+        }
+        if (generator.equals("packed") || generator.equals("both")) {
+            packedNodes = perft.report("packed", board, side, depth, divide);
+        }
+        if (objectNodes >= 0 && packedNodes >= 0) {
+            System.out.println(objectNodes == packedNodes ? "Counts match." : "MISMATCH: object " + objectNodes + " vs packed " + packedNodes);
+        }
+    }
+
+    /**
+     * Parses the 32 dark squares, top-left first, as {@code w}, {@code b} or {@code .}.
+     */
+    static Board parsePosition(String squares) {
+        if (squares.length() != Squares.COUNT) {
+            throw new IllegalArgumentException("Position must list " + Squares.COUNT + " squares");
+        }
+        int white = 0;
+        int black = 0;
+        for (int s = 0; s < Squares.COUNT; s++) {
+            char c = Character.toLowerCase(squares.charAt(s));
+            if (c == 'w') white |= 1 << s;
+            else if (c == 'b') black |= 1 << s;
+            else if (c != '.') throw new IllegalArgumentException("Unexpected square '" + c + "'");
+        }
+        Board board = new Board();
+        board.setMasks(white, black);
+        return board;
+    }
+
+    private long report(String generator, Board board, Color side, int depth, boolean divide) {
+        boolean object = generator.equals("object");
+        long start = System.nanoTime();
+        long total = 0;
+        if (divide && depth > 0) {
+            for (Move move : logic.getLegalMoves(board, side)) {
+                Board child = new Board(board);
+                logic.applyMove(child, move);
+                long nodes = isOver(child) ? (depth == 1 ? 1 : 0)
+                        : object ? perftObject(child, side.opposite(), depth - 1) : perftPacked(child, side.opposite(), depth - 1, 1);
+                System.out.println(Renderer.formatMove(move) + ": " + nodes);
+                total += nodes;
+            }
+        } else {
+            total = object ? perftObject(board, side, depth) : perftPacked(board, side, depth, 0);
+        }
+        long nanos = Math.max(1, System.nanoTime() - start);
+        System.out.printf("%s: depth %d, %d nodes, %.3f s, %d nodes/sec%n",
+                generator, depth, total, nanos / 1e9, total * 1_000_000_000L / nanos);
+        return total;
+    }
+
+    /**
+     * Perft over {@link GameService#getLegalMoves(Board, Color)} with a board copy per move.
+     */
+    long perftObject(Board board, Color side, int depth) {
+        if (depth == 0) return 1;
+        List<Move> moves = logic.getLegalMoves(board, side);
+        long nodes = 0;
+        for (Move move : moves) {
+            Board child = new Board(board);
+            logic.applyMove(child, move);
+            if (depth == 1) {
+                nodes++;
+            } else if (!logic.checkGameOver(child, new Game())) {
+                nodes += perftObject(child, side.opposite(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Perft over the packed {@link MoveGenerator} with make/unmake on a single board.
+     */
+    long perftPacked(Board board, Color side, int depth, int ply) {
+        if (depth == 0) return 1;
+        int[] moves = buffers[ply];
+        int count = logic.getLegalMoves(board, side, moves);
+        if (depth == 1) return count;
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            int token = logic.makeMove(board, moves[i]);
+            if (!isOver(board)) {
+                nodes += perftPacked(board, side.opposite(), depth - 1, ply + 1);
+            }
+            logic.unmakeMove(board, token);
+        }
+        return nodes;
+    }
+
+    private boolean isOver(Board board) {
+        return logic.winnerOf(board.getWhiteMask(), board.getBlackMask()) != null;
+    }
+}
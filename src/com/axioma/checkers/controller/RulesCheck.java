@@ -0,0 +1,370 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.io.GameRecordWriter;
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.EvaluationWeights;
+import com.axioma.checkers.model.Game;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.Move;
+import com.axioma.checkers.model.MoveGenerator;
+import com.axioma.checkers.model.Piece;
+import com.axioma.checkers.model.Squares;
+import com.axioma.checkers.model.Tablebase;
+import com.axioma.checkers.model.TablebaseGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Differential checks of the fast rule paths against straightforward references on seeded
+ * random positions. The references walk cells through {@link Board#get} as the rules were
+ * first written and share no tables with {@link GameService}. Each check stops at the first
+ * disagreement, printing the position in {@link Perft}'s {@code --position} format, and
+ * fails with an exception.
+ *
+ * <p>Usage: {@code RulesCheck gameover|legality|tablebase|gradient [positions] [seed] [tablebase file]}
+ * <ul>
+ *   <li>{@code gameover}: {@link GameService#checkGameOver} against a cell-by-cell scan of
+ *       the back ranks and the reference move list.</li>
+ *   <li>{@code legality}: {@link GameService#isLegalMove} against membership in the
+ *       reference move list, for both colors and every step of up to three squares from every
+ *       square, including squares off the board.</li>
+ *   <li>{@code tablebase}: {@link Tablebase#probe} against a plain minimax over the reference
+ *       move list, {@value #TABLEBASE_CHECK_PLIES} plies deep, for both sides to move. Uses
+ *       the given tablebase file, or builds the two-piece one in memory.</li>
+ *   <li>{@code gradient}: the gradient {@link EvaluationTuner} fits against central finite
+ *       differences of its error, on a corpus of random games holding about
+ *       {@code positions} positions.</li>
+ * </ul>
+ */
+public final class RulesCheck {
+    /** Depth of the reference search; longer wins and losses must be beyond it. */
+    static final int TABLEBASE_CHECK_PLIES = 7;
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+    /** Weight step of the finite differences, in centipieces; the score is linear in the weights. */
+    private static final double GRADIENT_STEP = 1e-3;
+    private static final double GRADIENT_TOLERANCE = 1e-5;
+
+    private final GameService logic = new GameService();
+    private final SplittableRandom random;
+
+    public RulesCheck(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: RulesCheck gameover|legality|tablebase|gradient [positions] [seed] [tablebase file]");
+            return;
+        }
+        RulesCheck check = new RulesCheck(args.length > 2 ? Long.parseLong(args[2]) : 1);
+        long start = System.nanoTime();
+        long checked;
+        switch (args[0]) {
+            case "gameover":
+                checked = check.gameOver(args.length > 1 ? Integer.parseInt(args[1]) : 300_000);
+                break;
+            case "legality":
+                checked = check.legality(args.length > 1 ? Integer.parseInt(args[1]) : 20_000);
+                break;
+            case "tablebase":
+                Tablebase tablebase = args.length > 3 ? Tablebase.load(Path.of(args[3])) : new TablebaseGenerator(2).build();
+                checked = check.tablebase(tablebase, args.length > 1 ? Integer.parseInt(args[1]) : 2_000);
+                break;
+            case "gradient":
+                checked = check.gradient(args.length > 1 ? Integer.parseInt(args[1]) : 20_000);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown check: " + args[0]);
+        }
+        System.out.printf("%s: %d positions agree (%.1f s)%n", args[0], checked, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Compares the mask-based game-over test with a full rescan on {@code positions} boards
+     * of varying density.
+     * @return positions checked
+     */
+    public long gameOver(int positions) {
+        for (int i = 0; i < positions; i++) {
+            Board board = randomBoard(2 + random.nextInt(12));
+            Game game = new Game();
+            boolean over = logic.checkGameOver(board, game);
+            Color expected = scanWinner(board);
+            if (over != (expected != null) || game.getWinner() != expected) {
+                fail("checkGameOver", board, "winner " + game.getWinner() + ", expected " + expected);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Compares the direct legality test with a lookup in the reference move list on
+     * {@code positions} boards.
+     * @return positions checked
+     */
+    public long legality(int positions) {
+        for (int i = 0; i < positions; i++) {
+            Board board = randomBoard(4);
+            for (Color color : Color.values()) {
+                Set<Move> legal = new HashSet<>(referenceMoves(board, color));
+                for (int fromRow = -1; fromRow <= Board.SIZE; fromRow++) {
+                    for (int fromCol = -1; fromCol <= Board.SIZE; fromCol++) {
+                        for (int dr = -3; dr <= 3; dr++) {
+                            for (int dc = -3; dc <= 3; dc++) {
+                                Move move = new Move(fromRow, fromCol, fromRow + dr, fromCol + dc);
+                                if (logic.isLegalMove(board, move, color) != legal.contains(move)) {
+                                    fail("isLegalMove", board, color + " " + move + " expected " + legal.contains(move));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Compares tablebase probes with a depth-limited reference search on {@code positions}
+     * random covered positions that are not over.
+     * @return positions checked
+     */
+    public long tablebase(Tablebase tablebase, int positions) {
+        for (int i = 0; i < positions; i++) {
+            Board board;
+            do {
+                board = randomBoard(1 + random.nextInt(tablebase.getMaxPieces()),
+                        1 + random.nextInt(tablebase.getMaxPieces()));
+            } while (scanWinner(board) != null);
+            for (Color color : Color.values()) {
+                int expected = tablebase.probe(board.getWhiteMask(), board.getBlackMask(), color);
+                int searched = referenceValue(board, color, TABLEBASE_CHECK_PLIES);
+                boolean agrees = searched == UNKNOWN ? Math.abs(expected) > TABLEBASE_CHECK_PLIES : searched == expected;
+                if (!agrees) {
+                    fail("Tablebase", board, color + " to move: " + expected + ", search "
+                            + (searched == UNKNOWN ? "beyond " + TABLEBASE_CHECK_PLIES + " plies" : searched));
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Records random games until they hold {@code positions} positions, then compares the
+     * tuner's gradient at the default weights with central differences of its error.
+     * @return positions checked
+     */
+    public long gradient(int positions) throws IOException {
+        Path corpus = Files.createTempFile("rulescheck", ".games");
+        try {
+            long recorded = writeRandomGames(corpus, positions);
+            EvaluationTuner tuner = new EvaluationTuner(corpus, 2, 0);
+            double[] weights = Arrays.stream(EvaluationWeights.defaults().toArray()).asDoubleStream().toArray();
+            double[] scale = {100};
+            EvaluationTuner.Sums sums = tuner.pass(weights, scale);
+            for (int i = 0; i < weights.length; i++) {
+                double saved = weights[i];
+                weights[i] = saved + GRADIENT_STEP;
+                double above = tuner.pass(weights, scale).errors[0];
+                weights[i] = saved - GRADIENT_STEP;
+                double below = tuner.pass(weights, scale).errors[0];
+                weights[i] = saved;
+                double numeric = (above - below) / (2 * GRADIENT_STEP);
+                double analytic = sums.gradient[i];
+                if (Math.abs(analytic - numeric) > GRADIENT_TOLERANCE * Math.max(1, Math.abs(numeric))) {
+                    throw new IllegalStateException("Gradient of weight " + i + " is " + analytic
+                            + ", finite differences give " + numeric);
+                }
+            }
+            return recorded;
+        } finally {
+            Files.deleteIfExists(corpus);
+        }
+    }
+
+    /**
+     * @return positions written, counting each game's positions before every move
+     */
+    private long writeRandomGames(Path path, int positions) throws IOException {
+        GameService rules = new GameService();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        // Pieces only move forward, so no game comes near this many plies
+        int[] game = new int[256];
+        long written = 0;
+        try (GameRecordWriter writer = new GameRecordWriter(path)) {
+            while (written < positions) {
+                Board board = new Board();
+                board.setupInitial();
+                int startWhite = board.getWhiteMask();
+                int startBlack = board.getBlackMask();
+                Color side = Color.WHITE;
+                int count = 0;
+                Color winner;
+                while ((winner = rules.winnerOf(board.getWhiteMask(), board.getBlackMask())) == null) {
+                    int n = rules.getLegalMoves(board, side, moves);
+                    game[count++] = moves[random.nextInt(n)];
+                    rules.makeMove(board, game[count - 1]);
+                    side = side.opposite();
+                }
+                writer.writeGame(startWhite, startBlack, Color.WHITE, game, count, winner);
+                written += count;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Plies to a win (positive) or loss (negative) for {@code side}, as the tablebase counts
+     * them, or {@link #UNKNOWN} if the result is not settled within {@code plies}. The game
+     * must not be over.
+     */
+    private int referenceValue(Board board, Color side, int plies) {
+        if (plies == 0) return UNKNOWN;
+        int best = UNKNOWN;
+        boolean unsettled = false;
+        for (Move move : referenceMoves(board, side)) {
+            Board child = new Board(board);
+            referenceApply(child, move);
+            Color winner = scanWinner(child);
+            int value;
+            if (winner != null) {
+                value = winner == side ? 1 : -1;
+            } else {
+                int reply = referenceValue(child, side.opposite(), plies - 1);
+                if (reply == UNKNOWN) {
+                    unsettled = true;
+                    continue;
+                }
+                value = reply < 0 ? 1 - reply : -(reply + 1);
+            }
+            // Faster wins beat slower wins, which beat any loss; slower losses beat faster ones
+            if (best == UNKNOWN || ((value > 0) != (best > 0) ? value > 0 : value < best)) best = value;
+        }
+        // An unsettled move can only be a slower win, so it matters unless a win was found
+        return unsettled && (best == UNKNOWN || best < 0) ? UNKNOWN : best;
+    }
+
+    /**
+     * Applies a move cell by cell, as first written.
+     */
+    private static void referenceApply(Board board, Move move) {
+        Piece moving = board.get(move.getFromRow(), move.getFromCol());
+        board.set(move.getFromRow(), move.getFromCol(), null);
+        board.set(move.getToRow(), move.getToCol(), moving);
+        if (move.isCapture()) {
+            board.set((move.getFromRow() + move.getToRow()) / 2, (move.getFromCol() + move.getToCol()) / 2, null);
+        }
+    }
+
+    /**
+     * The rules as first written: a piece on the far back rank wins, then a side without
+     * pieces or moves loses, White first.
+     */
+    private Color scanWinner(Board board) {
+        if (hasPieceOnRow(board, 0, Color.WHITE)) return Color.WHITE;
+        if (hasPieceOnRow(board, Board.SIZE - 1, Color.BLACK)) return Color.BLACK;
+        if (!hasPieces(board, Color.WHITE) || referenceMoves(board, Color.WHITE).isEmpty()) return Color.BLACK;
+        if (!hasPieces(board, Color.BLACK) || referenceMoves(board, Color.BLACK).isEmpty()) return Color.WHITE;
+        return null;
+    }
+
+    /**
+     * The legal moves as first generated: every piece steps or jumps one row forward
+     * diagonally, captures listed before quiet moves.
+     */
+    private static List<Move> referenceMoves(Board board, Color player) {
+        List<Move> captures = new ArrayList<>();
+        List<Move> quiets = new ArrayList<>();
+        int forward = player == Color.WHITE ? -1 : 1;
+        for (int r = 0; r < Board.SIZE; r++) {
+            for (int c = 0; c < Board.SIZE; c++) {
+                Piece piece = board.get(r, c);
+                if (piece == null || piece.getColor() != player) continue;
+                for (int dc = -1; dc <= 1; dc += 2) {
+                    int midR = r + forward;
+                    int midC = c + dc;
+                    int landR = r + 2 * forward;
+                    int landC = c + 2 * dc;
+                    if (board.isInside(landR, landC) && board.isInside(midR, midC)) {
+                        Piece mid = board.get(midR, midC);
+                        if (mid != null && mid.getColor() != player && board.get(landR, landC) == null) {
+                            captures.add(new Move(r, c, landR, landC));
+                        }
+                    }
+                    if (board.isInside(midR, midC) && board.get(midR, midC) == null) {
+                        quiets.add(new Move(r, c, midR, midC));
+                    }
+                }
+            }
+        }
+        captures.addAll(quiets);
+        return captures;
+    }
+
+    private static boolean hasPieces(Board board, Color color) {
+        for (int r = 0; r < Board.SIZE; r++) {
+            if (hasPieceOnRow(board, r, color)) return true;
+        }
+        return false;
+    }
+
+    private static boolean hasPieceOnRow(Board board, int row, Color color) {
+        for (int c = 0; c < Board.SIZE; c++) {
+            Piece piece = board.get(row, c);
+            if (piece != null && piece.getColor() == color) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return a board with the given number of pieces per color on random squares
+     */
+    private Board randomBoard(int whiteCount, int blackCount) {
+        int white = 0;
+        int black = 0;
+        while (Integer.bitCount(white) < whiteCount) {
+            white |= 1 << random.nextInt(Squares.COUNT);
+        }
+        while (Integer.bitCount(black) < blackCount) {
+            black |= (1 << random.nextInt(Squares.COUNT)) & ~white;
+        }
+        Board board = new Board();
+        board.setMasks(white, black);
+        return board;
+    }
+
+    /**
+     * @param density about one square in {@code density} holds each color
+     */
+    private Board randomBoard(int density) {
+        int white = 0;
+        int black = 0;
+        for (int s = 0; s < Squares.COUNT; s++) {
+            int roll = random.nextInt(density);
+            if (roll == 0) white |= 1 << s;
+            else if (roll == 1) black |= 1 << s;
+        }
+        Board board = new Board();
+        board.setMasks(white, black);
+        return board;
+    }
+
+    private static void fail(String check, Board board, String detail) {
+        StringBuilder squares = new StringBuilder();
+        for (int s = 0; s < Squares.COUNT; s++) {
+            int bit = 1 << s;
+            squares.append((board.getWhiteMask() & bit) != 0 ? 'w' : (board.getBlackMask() & bit) != 0 ? 'b' : '.');
+        }
+        System.out.println(check + " disagrees on " + squares + ": " + detail);
+        throw new IllegalStateException(check + " disagrees with the reference");
+    }
+}
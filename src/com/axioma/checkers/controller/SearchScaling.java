@@ -0,0 +1,77 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.MoveGenerator;
+import com.axioma.checkers.model.ParallelSearchStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures nodes per second of {@link ParallelSearchStrategy} from 1 to N threads on the
+ * same set of positions.
+ *
+ * <p>Usage: {@code SearchScaling [maxThreads] [millisPerMove] [positions]}
+ */
+public final class SearchScaling {
+    private static final long POSITION_SEED = 20251019L;
+
+    private SearchScaling() {
+    }
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 200;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        GameService logic = new GameService();
+        List<Board> positions = randomPositions(logic, count);
+        long baseline = 0;
+        System.out.println("threads  nodes/sec  speedup  avg depth");
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            long nodes = 0;
+            long nanos = 0;
+            long depth = 0;
+            try (ParallelSearchStrategy search = new ParallelSearchStrategy(threads, millis, 0, 64, 64)) {
+                for (Board position : positions) {
+                    long start = System.nanoTime();
+                    search.chooseMoveSequence(position, logic);
+                    nanos += System.nanoTime() - start;
+                    nodes += search.getLastNodes();
+                    depth += search.getLastDepth();
+                }
+            }
+            long nps = nodes * 1_000_000_000L / Math.max(1, nanos);
+            if (threads == 1) baseline = Math.max(1, nps);
+            System.out.printf("%7d  %9d  %7.2f  %9.1f%n", threads, nps, (double) nps / baseline, (double) depth / positions.size());
+        }
+    }
+
+    /**
+     * Plays seeded random moves from the initial setup and keeps positions with Black to move.
+     */
+    static List<Board> randomPositions(GameService logic, int count) {
+        Random random = new Random(POSITION_SEED);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        List<Board> positions = new ArrayList<>();
+        while (positions.size() < count) {
+            Board board = new Board();
+            board.setupInitial();
+            int plies = 1 + 2 * random.nextInt(8);
+            Color turn = Color.WHITE;
+            for (int ply = 0; ply < plies; ply++) {
+                int n = logic.getLegalMoves(board, turn, moves);
+                if (n == 0) break;
+                logic.makeMove(board, moves[random.nextInt(n)]);
+                turn = turn.opposite();
+            }
+            if (turn == Color.BLACK && logic.winnerOf(board.getWhiteMask(), board.getBlackMask()) == null) {
+                positions.add(board);
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,413 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.io.GameRecordWriter;
+import com.axioma.checkers.model.AssignmentStrategy;
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.BookStrategy;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.ComputerStrategy;
+import com.axioma.checkers.model.EngineMetrics;
+import com.axioma.checkers.model.EvaluationWeights;
+import com.axioma.checkers.model.Evaluator;
+import com.axioma.checkers.model.Game;
+import com.axioma.checkers.model.MctsStrategy;
+import com.axioma.checkers.model.MeteredStrategy;
+import com.axioma.checkers.model.GameService;
+import com.axioma.checkers.model.Move;
+import com.axioma.checkers.model.MoveGenerator;
+import com.axioma.checkers.model.OpeningBook;
+import com.axioma.checkers.model.SearchStrategy;
+import com.axioma.checkers.model.Squares;
+import com.axioma.checkers.model.Tablebase;
+import com.axioma.checkers.model.TablebaseStrategy;
+import com.axioma.checkers.model.TranspositionTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Headless engine-vs-engine match runner. Games are spread over a fixed pool of threads,
+ * each owning its own strategy instances; nothing is rendered.
+ *
+ * <p>Strategies always choose for Black, so the engine playing White is shown the board
+ * rotated by 180 degrees with the colors swapped, and its moves are rotated back.
+ * Engines swap colors every game. A move that is not legal forfeits the game.
+ *
+ * <p>Usage: {@code SelfPlayRunner <games> <engineA> <engineB> [threads] [randomPlies] [recordFile]}
+ * <br>With a record file, every game is written in the binary game-record format. Engine
+ * metrics are registered over JMX as {@code name=A} and {@code name=B} and printed every
+ * ten seconds and at the end.
+ * <br>Engines: {@code assignment}, {@code search[:millis[:weightsFile]]}, {@code tablebase:<file>[:millis]}
+ * (tablebase play with a search fallback), {@code book:<file>[:millis]} (opening book with a
+ * search fallback), {@code mcts[:millis[:threads]]}.
+ */
+public final class SelfPlayRunner {
+    /** Games still running after this many plies are scored as draws. */
+    static final int MAX_PLIES = 400;
+
+    private static final long SEED = 20251019L;
+    private static final int MCTS_NODES = 1 << 20;
+
+    private final Supplier<ComputerStrategy> engineA;
+    private final Supplier<ComputerStrategy> engineB;
+    private final int randomPlies;
+    private final GameRecordWriter records;
+
+    /**
+     * @param engineA factory for the first engine, called once per worker thread
+     * @param engineB factory for the second engine, called once per worker thread
+     * @param randomPlies seeded random plies played before the engines take over
+     * @param records writer receiving every finished game, or null
+     */
+    public SelfPlayRunner(Supplier<ComputerStrategy> engineA, Supplier<ComputerStrategy> engineB, int randomPlies,
+                          GameRecordWriter records) {
+        this.engineA = engineA;
+        this.engineB = engineB;
+        this.randomPlies = randomPlies;
+        this.records = records;
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: SelfPlayRunner <games> <engineA> <engineB> [threads] [randomPlies] [recordFile]");
+            return;
+        }
+        int games = Integer.parseInt(args[0]);
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int randomPlies = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+        GameRecordWriter records = args.length > 5 ? new GameRecordWriter(Path.of(args[5])) : null;
+        EngineMetrics metricsA = new EngineMetrics();
+        EngineMetrics metricsB = new EngineMetrics();
+        metricsA.register("A");
+        metricsB.register("B");
+        SelfPlayRunner runner = new SelfPlayRunner(metered(engine(args[1]), metricsA), metered(engine(args[2]), metricsB),
+                randomPlies, records);
+        long start = System.nanoTime();
+        Result result;
+        MetricsReporter reporter = new MetricsReporter(System.out, 10, () -> "A " + metricsA.format()
+                + System.lineSeparator() + "B " + metricsB.format());
+        try {
+            result = runner.run(games, threads);
+        } finally {
+            reporter.close();
+            if (records != null) records.close();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(result.summary(args[1], args[2]));
+        System.out.println(args[1] + " " + metricsA.format());
+        System.out.println(args[2] + " " + metricsB.format());
+        System.out.printf("%d games in %.1f s (%.1f games/s)%n", games, seconds, games / seconds);
+    }
+
+    /**
+     * Resolves an engine name to a factory.
+     */
+    static Supplier<ComputerStrategy> engine(String spec) {
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "assignment":
+                return AssignmentStrategy::new;
+            case "search":
+                long millis = parts.length > 1 ? Long.parseLong(parts[1]) : 10;
+                Evaluator evaluator = new Evaluator(parts.length > 2 ? loadWeights(parts[2]) : EvaluationWeights.defaults());
+                return () -> new SearchStrategy(millis, 0, SearchStrategy.MAX_PLY,
+                        new TranspositionTable(16), evaluator);
+            case "tablebase":
+                Tablebase tablebase = loadTablebase(parts[1]);
+                long fallbackMillis = parts.length > 2 ? Long.parseLong(parts[2]) : 10;
+                return () -> new TablebaseStrategy(tablebase, new SearchStrategy(fallbackMillis, 0, SearchStrategy.MAX_PLY));
+            case "book":
+                OpeningBook book = loadBook(parts[1]);
+                long searchMillis = parts.length > 2 ? Long.parseLong(parts[2]) : 10;
+                return () -> new BookStrategy(book, 1, new SearchStrategy(searchMillis, 0, SearchStrategy.MAX_PLY));
+            case "mcts":
+                long mctsMillis = parts.length > 1 ? Long.parseLong(parts[1]) : 10;
+                int mctsThreads = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+                return () -> new MctsStrategy(mctsThreads, mctsMillis, 0, MCTS_NODES);
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + spec);
+        }
+    }
+
+    private static Supplier<ComputerStrategy> metered(Supplier<ComputerStrategy> engine, EngineMetrics metrics) {
+        return () -> new MeteredStrategy(engine.get(), metrics);
+    }
+
+    private static EvaluationWeights loadWeights(String file) {
+        try {
+            return EvaluationWeights.load(Path.of(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Tablebase loadTablebase(String file) {
+        try {
+            return Tablebase.load(Path.of(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static OpeningBook loadBook(String file) {
+        try {
+            return OpeningBook.load(Path.of(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Plays {@code games} games on {@code threads} threads and aggregates the results.
+     */
+    public Result run(int games, int threads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                try (Worker worker = new Worker(engineA.get(), engineB.get())) {
+                    for (int g = next.getAndIncrement(); g < games; g = next.getAndIncrement()) {
+                        worker.play(g);
+                    }
+                    return worker.result;
+                }
+            }));
+        }
+        Result total = new Result();
+        try {
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("self-play worker failed", ex.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return total;
+    }
+
+    /**
+     * Plays games with its own pair of strategies, and closes those that hold helper threads
+     * when done.
+     */
+    private final class Worker implements AutoCloseable {
+        private final ComputerStrategy a;
+        private final ComputerStrategy b;
+        private final GameService logic = new GameService();
+        private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+        private final int[] played = new int[4 * MAX_PLIES];
+        private final Result result = new Result();
+        private int playedCount;
+
+        Worker(ComputerStrategy a, ComputerStrategy b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public void close() throws Exception {
+            try {
+                closeIfNeeded(a);
+            } finally {
+                closeIfNeeded(b);
+            }
+        }
+
+        private void closeIfNeeded(ComputerStrategy strategy) throws Exception {
+            if (strategy instanceof AutoCloseable) {
+                ((AutoCloseable) strategy).close();
+            }
+        }
+
+        void play(int index) {
+            boolean aIsWhite = (index & 1) == 0;
+            Random random = new Random(SEED + index / 2);
+            Board board = new Board();
+            board.setupInitial();
+            Game game = new Game();
+            int plies = 0;
+            playedCount = 0;
+            while (!game.isFinished() && plies < MAX_PLIES) {
+                Color turn = game.getCurrentTurn();
+                if (plies < randomPlies) {
+                    int n = logic.getLegalMoves(board, turn, moves);
+                    if (n == 0) {
+                        forfeit(game, turn);
+                    } else {
+                        int move = moves[random.nextInt(n)];
+                        logic.makeMove(board, move);
+                        played[playedCount++] = move;
+                    }
+                } else {
+                    boolean aToMove = (turn == Color.WHITE) == aIsWhite;
+                    playEngineTurn(aToMove ? a : b, aToMove ? result.latencyA : result.latencyB, board, game, turn);
+                }
+                plies++;
+                if (logic.checkGameOver(board, game)) break;
+                game.setCurrentTurn(turn.opposite());
+            }
+            result.record(game.getWinner(), aIsWhite, plies);
+            if (records != null) writeRecord(game.getWinner());
+        }
+
+        private void writeRecord(Color winner) {
+            Board start = new Board();
+            start.setupInitial();
+            try {
+                synchronized (records) {
+                    records.writeGame(start.getWhiteMask(), start.getBlackMask(), Color.WHITE, played, playedCount, winner);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void playEngineTurn(ComputerStrategy engine, LongList latency, Board board, Game game, Color turn) {
+            Board view = turn == Color.BLACK ? new Board(board) : mirror(board);
+            long start = System.nanoTime();
+            List<Move> sequence = engine.chooseMoveSequence(view, logic);
+            latency.add(System.nanoTime() - start);
+            if (sequence == null || sequence.isEmpty()) {
+                forfeit(game, turn);
+                return;
+            }
+            for (Move move : sequence) {
+                Move actual = turn == Color.BLACK ? move : mirror(move);
+                if (!logic.isLegalMove(board, actual, turn)) {
+                    forfeit(game, turn);
+                    return;
+                }
+                logic.applyMove(board, actual);
+                if (playedCount < played.length) played[playedCount++] = MoveGenerator.encode(actual);
+            }
+        }
+
+        private void forfeit(Game game, Color loser) {
+            game.setFinished(true);
+            game.setWinner(loser.opposite());
+        }
+    }
+
+    /**
+     * Rotates the board by 180 degrees and swaps the colors, so White's view matches Black's.
+     */
+    static Board mirror(Board board) {
+        Board mirrored = new Board();
+        mirrored.setMasks(Squares.mirror(board.getBlackMask()), Squares.mirror(board.getWhiteMask()));
+        return mirrored;
+    }
+
+    static Move mirror(Move move) {
+        int last = Board.SIZE - 1;
+        return new Move(last - move.getFromRow(), last - move.getFromCol(), last - move.getToRow(), last - move.getToCol());
+    }
+
+    /**
+     * Aggregated match results.
+     */
+    public static final class Result {
+        private int winsA;
+        private int winsB;
+        private int draws;
+        private int winsWhite;
+        private long totalPlies;
+        private final LongList latencyA = new LongList();
+        private final LongList latencyB = new LongList();
+
+        void record(Color winner, boolean aIsWhite, int plies) {
+            totalPlies += plies;
+            if (winner == null) {
+                draws++;
+                return;
+            }
+            if (winner == Color.WHITE) winsWhite++;
+            if ((winner == Color.WHITE) == aIsWhite) {
+                winsA++;
+            } else {
+                winsB++;
+            }
+        }
+
+        void merge(Result other) {
+            winsA += other.winsA;
+            winsB += other.winsB;
+            draws += other.draws;
+            winsWhite += other.winsWhite;
+            totalPlies += other.totalPlies;
+            latencyA.addAll(other.latencyA);
+            latencyB.addAll(other.latencyB);
+        }
+
+        public int getWinsA() {
+            return winsA;
+        }
+
+        public int getWinsB() {
+            return winsB;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public int getGames() {
+            return winsA + winsB + draws;
+        }
+
+        public double getAverageLength() {
+            return getGames() == 0 ? 0 : (double) totalPlies / getGames();
+        }
+
+        String summary(String nameA, String nameB) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%s wins: %d, %s wins: %d, draws: %d (White won %d)%n",
+                    nameA, winsA, nameB, winsB, draws, winsWhite));
+            sb.append(String.format("Average game length: %.1f plies%n", getAverageLength()));
+            sb.append(latencyA.percentiles(nameA)).append(System.lineSeparator());
+            sb.append(latencyB.percentiles(nameB));
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Growable list of primitive longs for latency samples.
+     */
+    static final class LongList {
+        private long[] values = new long[256];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void addAll(LongList other) {
+            for (int i = 0; i < other.size; i++) add(other.values[i]);
+        }
+
+        String percentiles(String name) {
+            if (size == 0) return name + " move latency: no samples";
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return String.format("%s move latency (ms): p50 %.3f, p90 %.3f, p99 %.3f, max %.3f over %d moves",
+                    name, at(sorted, 0.50), at(sorted, 0.90), at(sorted, 0.99), sorted[size - 1] / 1e6, size);
+        }
+
+        private static double at(long[] sorted, double fraction) {
+            int index = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.axioma.checkers.controller;
+
+import com.axioma.checkers.model.Tablebase;
+import com.axioma.checkers.model.TablebaseGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Builds an endgame tablebase file.
+ *
+ * <p>Usage: {@code TablebaseBuilder <piecesPerSide> <file>}; check the file with
+ * {@code RulesCheck tablebase [positions] [seed] <file>}.
+ */
+public final class TablebaseBuilder {
+    private TablebaseBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: TablebaseBuilder <piecesPerSide> <file>");
+            return;
+        }
+        int pieces = Integer.parseInt(args[0]);
+        long start = System.nanoTime();
+        Tablebase tablebase = new TablebaseGenerator(pieces).build();
+        tablebase.write(Path.of(args[1]));
+        System.out.printf("Built %d-piece tablebase in %.1f s%n", pieces, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,115 @@
+package com.axioma.checkers.io;
+
+import com.axioma.checkers.model.Color;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams game records from a memory-mapped {@link RecordFormat} file. The reader is a
+ * cursor: {@link #next()} moves to the following record and the getters read the current
+ * one straight from the mapping, so no objects are allocated per record. Files larger than
+ * one mapping window are remapped as the cursor advances. Not thread-safe.
+ */
+public final class GameRecordReader implements Closeable {
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int record = -1;
+    private int nextRecord;
+    private int moveCount;
+
+    public GameRecordReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        map(0);
+        if (size < RecordFormat.HEADER_BYTES || window.getInt(0) != RecordFormat.MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not a game record file");
+        }
+        if (window.get(4) != RecordFormat.VERSION) {
+            channel.close();
+            throw new IOException("Unsupported record version " + window.get(4));
+        }
+        this.nextRecord = RecordFormat.HEADER_BYTES;
+    }
+
+    /**
+     * Advances to the next record, checking that every move byte leads onto the board.
+     * @return false when there are no more records
+     * @throws IOException if the record is truncated or holds a corrupt move
+     */
+    public boolean next() throws IOException {
+        long absolute = windowStart + nextRecord;
+        if (absolute >= size) return false;
+        if (window.limit() - nextRecord < RecordFormat.MAX_RECORD_BYTES && windowStart + window.limit() < size) {
+            map(absolute);
+        }
+        record = (int) (absolute - windowStart);
+        if (record + RecordFormat.RECORD_HEADER_BYTES > window.limit()) {
+            throw new IOException("Truncated record at offset " + absolute);
+        }
+        moveCount = window.getShort(record + 10) & 0xFFFF;
+        nextRecord = record + RecordFormat.RECORD_HEADER_BYTES + moveCount;
+        if (nextRecord > window.limit()) {
+            throw new IOException("Truncated record at offset " + absolute);
+        }
+        for (int i = 0; i < moveCount; i++) {
+            if (!RecordFormat.isValidMove(window.get(record + RecordFormat.RECORD_HEADER_BYTES + i))) {
+                throw new IOException("Corrupt move " + i + " in record at offset " + absolute);
+            }
+        }
+        return true;
+    }
+
+    public int getWhite() {
+        return window.getInt(record);
+    }
+
+    public int getBlack() {
+        return window.getInt(record + 4);
+    }
+
+    public Color getSideToMove() {
+        return RecordFormat.decodeSide(window.get(record + 8));
+    }
+
+    /**
+     * @return the winner, or null for an unfinished or drawn game
+     */
+    public Color getWinner() {
+        return RecordFormat.decodeWinner(window.get(record + 9));
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return move {@code index} of the current record as a packed move
+     */
+    public int getMove(int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("move " + index + " of " + moveCount);
+        }
+        return RecordFormat.decodeMove(window.get(record + RecordFormat.RECORD_HEADER_BYTES + index));
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_BYTES, size - start));
+        nextRecord = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
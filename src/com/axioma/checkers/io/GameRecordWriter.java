@@ -0,0 +1,70 @@
+package com.axioma.checkers.io;
+
+import com.axioma.checkers.model.Board;
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.Move;
+import com.axioma.checkers.model.MoveGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes game records in the {@link RecordFormat} layout. Not thread-safe.
+ */
+public final class GameRecordWriter implements Closeable {
+    private final DataOutputStream out;
+
+    /**
+     * Creates or truncates {@code path} and writes the file header.
+     */
+    public GameRecordWriter(Path path) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        out.writeInt(RecordFormat.MAGIC);
+        out.writeByte(RecordFormat.VERSION);
+    }
+
+    /**
+     * Writes one game from its start position.
+     * @param winner the winner, or null for an unfinished or drawn game
+     */
+    public void writeGame(Board start, Color toMove, List<Move> moves, Color winner) throws IOException {
+        if (moves.size() > RecordFormat.MAX_MOVES) {
+            throw new IllegalArgumentException("a record holds at most " + RecordFormat.MAX_MOVES + " moves");
+        }
+        writeHeader(start.getWhiteMask(), start.getBlackMask(), toMove, winner, moves.size());
+        for (Move move : moves) {
+            out.writeByte(RecordFormat.encodeMove(MoveGenerator.encode(move)));
+        }
+    }
+
+    /**
+     * Writes one game given as packed moves (see {@link MoveGenerator}).
+     */
+    public void writeGame(int white, int black, Color toMove, int[] moves, int count, Color winner) throws IOException {
+        if (count > RecordFormat.MAX_MOVES) {
+            throw new IllegalArgumentException("a record holds at most " + RecordFormat.MAX_MOVES + " moves");
+        }
+        writeHeader(white, black, toMove, winner, count);
+        for (int i = 0; i < count; i++) {
+            out.writeByte(RecordFormat.encodeMove(moves[i]));
+        }
+    }
+
+    private void writeHeader(int white, int black, Color toMove, Color winner, int count) throws IOException {
+        out.writeInt(white);
+        out.writeInt(black);
+        out.writeByte(RecordFormat.encodeSide(toMove));
+        out.writeByte(RecordFormat.encodeWinner(winner));
+        out.writeShort(count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,92 @@
+package com.axioma.checkers.io;
+
+import com.axioma.checkers.model.Color;
+import com.axioma.checkers.model.MoveGenerator;
+import com.axioma.checkers.model.Squares;
+
+/**
+ * Compact binary layout of positions and game records.
+ *
+ * <p>A file starts with the 4-byte {@link #MAGIC} and a 1-byte {@link #VERSION}, followed by
+ * game records. All integers are big-endian. A record is:
+ * <pre>
+ *   int    white mask    (bit s set = white piece on dark square s, see {@link Squares})
+ *   int    black mask
+ *   byte   side to move  (0 = White, 1 = Black)
+ *   byte   winner        (0 = none, 1 = White, 2 = Black)
+ *   short  move count    (unsigned)
+ *   byte[] moves         (one byte per move, see {@link #encodeMove})
+ * </pre>
+ * The first {@link #POSITION_BYTES} bytes of a record form a standalone position.
+ */
+public final class RecordFormat {
+    public static final int MAGIC = 0x434B4752; // "CKGR"
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = 5;
+    public static final int POSITION_BYTES = 9;
+    public static final int RECORD_HEADER_BYTES = POSITION_BYTES + 3;
+    public static final int MAX_MOVES = 0xFFFF;
+    public static final int MAX_RECORD_BYTES = RECORD_HEADER_BYTES + MAX_MOVES;
+
+    private RecordFormat() {
+    }
+
+    /**
+     * Encodes a packed move (see {@link MoveGenerator}) into one byte: bits 0-4 the from
+     * square, bits 5-6 the direction and bit 7 set for a capture.
+     */
+    public static byte encodeMove(int move) {
+        int from = MoveGenerator.from(move);
+        int to = MoveGenerator.to(move);
+        boolean up = Squares.row(to) < Squares.row(from);
+        boolean left = Squares.col(to) < Squares.col(from);
+        int direction = up ? (left ? MoveGenerator.UP_LEFT : MoveGenerator.UP_RIGHT)
+                : (left ? MoveGenerator.DOWN_LEFT : MoveGenerator.DOWN_RIGHT);
+        return (byte) (from | (direction << 5) | (MoveGenerator.isCapture(move) ? 0x80 : 0));
+    }
+
+    /**
+     * Decodes a move byte back into a packed move.
+     * @throws IllegalArgumentException if the byte leads off the board, as only a corrupt
+     *         record can
+     */
+    public static int decodeMove(byte encoded) {
+        int to = destination(encoded);
+        if (to < 0) {
+            throw new IllegalArgumentException(String.format("Move byte 0x%02X leads off the board", encoded & 0xFF));
+        }
+        return MoveGenerator.encode(encoded & 31, to, (encoded & 0x80) != 0);
+    }
+
+    /**
+     * @return true if {@link #decodeMove} accepts {@code encoded}
+     */
+    static boolean isValidMove(byte encoded) {
+        return destination(encoded) >= 0;
+    }
+
+    /**
+     * @return the square a move byte lands on, or -1 off the board
+     */
+    private static int destination(byte encoded) {
+        int from = encoded & 31;
+        int direction = (encoded >> 5) & 3;
+        return (encoded & 0x80) != 0 ? MoveGenerator.landing(from, direction) : MoveGenerator.neighbor(from, direction);
+    }
+
+    static byte encodeSide(Color side) {
+        return (byte) (side == Color.WHITE ? 0 : 1);
+    }
+
+    static Color decodeSide(byte side) {
+        return side == 0 ? Color.WHITE : Color.BLACK;
+    }
+
+    static byte encodeWinner(Color winner) {
+        return (byte) (winner == null ? 0 : winner == Color.WHITE ? 1 : 2);
+    }
+
+    static Color decodeWinner(byte winner) {
+        return winner == 0 ? null : winner == 1 ? Color.WHITE : Color.BLACK;
+    }
+}
@@ -6,147 +6,131 @@ import java.util.Random;
 
 /**
  * User-implemented strategy for computer move selection.
+ * Keeps a capture-chain table of chain length and next landing square per dark square,
+ * and on each turn only recomputes the entries affected by the squares that changed
+ * since the previous call. Instances are not thread-safe.
  */
 public final class AssignmentStrategy implements ComputerStrategy {
+    private static final int NONE = -1;
+    private static final int LEFT = MoveGenerator.DOWN_LEFT;
+    private static final int RIGHT = MoveGenerator.DOWN_RIGHT;
+
+    private final byte[] chainLength = new byte[Squares.COUNT];
+    private final byte[] nextHop = new byte[Squares.COUNT];
+    private final int[] candidates = new int[Squares.COUNT];
+    private final Random random = new Random();
+    private boolean initialized;
+    private int lastWhite;
+    private int lastBlack;
 
     @Override
     public List<Move> chooseMoveSequence(Board board, GameService logic) {
-        @SuppressWarnings("unchecked")
-        List<Move>[][] longestCaptureSequences = (List<Move>[][]) new List[Board.SIZE][Board.SIZE];
-        initLongestCaptureSequences(longestCaptureSequences);
-        List<Move> longestCapturedSequence = findLongestCaptureSequence(board, logic, longestCaptureSequences);
+        updateCaptureChains(board.getWhiteMask(), board.getBlackMask());
+        List<Move> longestCapturedSequence = getLongestCaptureSequence(board.getBlackMask());
         return longestCapturedSequence.isEmpty() ? chooseRandomQuietMove(board, logic) : longestCapturedSequence;
     }
 
-    private void initLongestCaptureSequences(List<Move>[][] longestCaptureSequences) {
-        for (int r = 0; r < Board.SIZE; r++) {
-            for (int c = 0; c < Board.SIZE; c++) {
-                longestCaptureSequences[r][c] = new ArrayList<>();
+    private void updateCaptureChains(int white, int black) {
+        int changed = initialized ? (white ^ lastWhite) | (black ^ lastBlack) : Squares.ALL;
+        initialized = true;
+        lastWhite = white;
+        lastBlack = black;
+
+        // An entry depends on its own square and on the middle and landing squares of its captures
+        int dirty = changed
+                | Squares.upLeft(changed) | Squares.upRight(changed)
+                | Squares.upLeft(Squares.upLeft(changed)) | Squares.upRight(Squares.upRight(changed));
+        while (dirty != 0) {
+            // Highest square first: landing squares are always further down the board
+            int s = 31 - Integer.numberOfLeadingZeros(dirty);
+            dirty &= ~(1 << s);
+            if (computeChain(white, black, s)) {
+                dirty |= Squares.upLeft(Squares.upLeft(1 << s)) | Squares.upRight(Squares.upRight(1 << s));
             }
         }
     }
 
-    private List<Move> findLongestCaptureSequence(Board board, GameService logic, List<Move>[][] longestCaptureSequences) {
-        Move leftMove;
-        Move rightMove;
-        for (int i = Board.SIZE - 3; i >= 0; i--) {
-            for (int j = 0; j < Board.SIZE; j++) {
-                if (board.get(i, j) == null || board.get(i, j).getColor() == Color.BLACK) {
-                    leftMove = computeLeftDiagonalCapture(board, i, j);
-                    rightMove = computeRightDiagonalCapture(board, i, j);
-
-                    if (leftMove != null && rightMove == null) {
-                        longestCaptureSequences[i][j].add(leftMove);
-                        if (i + 2 < Board.SIZE && j - 2 >= 0)
-                            longestCaptureSequences[i][j].addAll(longestCaptureSequences[i + 2][j - 2]);
-                    }
-
-                    if (rightMove != null && leftMove == null) {
-                        longestCaptureSequences[i][j].add(rightMove);
-                        if (i + 2 < Board.SIZE && j + 2 < Board.SIZE)
-                            longestCaptureSequences[i][j].addAll(longestCaptureSequences[i + 2][j + 2]);
-                    }
-
-                    if (leftMove != null && rightMove != null) {
-                        if(longestCaptureSequences[i + 2][j + 2].size() > longestCaptureSequences[i + 2][j - 2].size()) {
-                            longestCaptureSequences[i][j].add(rightMove);
-                            longestCaptureSequences[i][j].addAll(longestCaptureSequences[i + 2][j + 2]);
-                        } else {
-                            longestCaptureSequences[i][j].add(leftMove);
-                            longestCaptureSequences[i][j].addAll(longestCaptureSequences[i + 2][j - 2]);
-                        }
-                    }
-                        
-                }
+    /**
+     * Recomputes the longest capture chain starting at square {@code s}.
+     * @return true if the entry changed
+     */
+    private boolean computeChain(int white, int black, int s) {
+        int length = 0;
+        int hop = NONE;
+        if ((white & (1 << s)) == 0) {
+            int leftLand = MoveGenerator.landing(s, LEFT);
+            int rightLand = MoveGenerator.landing(s, RIGHT);
+            boolean left = canCapture(white, black, MoveGenerator.neighbor(s, LEFT), leftLand);
+            boolean right = canCapture(white, black, MoveGenerator.neighbor(s, RIGHT), rightLand);
+            if (left && (!right || chainLength[rightLand] <= chainLength[leftLand])) {
+                hop = leftLand;
+            } else if (right) {
+                hop = rightLand;
             }
+            if (hop != NONE) length = chainLength[hop] + 1;
         }
-
-        return getLongestCaptureSequence(board, longestCaptureSequences);
+        if (chainLength[s] == length && nextHop[s] == hop) return false;
+        chainLength[s] = (byte) length;
+        nextHop[s] = (byte) hop;
+        return true;
     }
 
-    private Move computeLeftDiagonalCapture(Board board, int row, int col) {
-        int landRow = row + 2;
-        int landCol = col - 2;
-        int capturedRow = row + 1;
-        int capturedCol = col - 1;
-
-        if (!board.isInside(landRow, landCol) || !board.isInside(capturedRow, capturedCol)) return null;
-        if (board.get(capturedRow, capturedCol) == null || board.get(capturedRow, capturedCol).getColor() == Color.BLACK) return null;
-        if (board.get(landRow, landCol) != null) return null;
-        return new Move(row, col, landRow, landCol);
+    private static boolean canCapture(int white, int black, int mid, int land) {
+        if (land == NONE) return false;
+        return (white & (1 << mid)) != 0 && ((white | black) & (1 << land)) == 0;
     }
 
-    private Move computeRightDiagonalCapture(Board board, int row, int col) {
-        int landRow = row + 2;
-        int landCol = col + 2;
-        int capturedRow = row + 1;
-        int capturedCol = col + 1;
-
-        if (!board.isInside(landRow, landCol) || !board.isInside(capturedRow, capturedCol)) return null;
-        if (board.get(capturedRow, capturedCol) == null || board.get(capturedRow, capturedCol).getColor() == Color.BLACK) return null;
-        if (board.get(landRow, landCol) != null) return null;
-        return new Move(row, col, landRow, landCol);
-    }
-
-    private List<Move> getLongestCaptureSequence(Board board, List<Move>[][] longestCaptureSequence) {
-        List<List<Move>> longestCaptureSequences = new ArrayList<>();
+    private List<Move> getLongestCaptureSequence(int black) {
+        int count = 0;
         int maxSequenceLength = 0;
-        for (int i = 0; i < Board.SIZE; i++) {
-            for (int j = 0; j < Board.SIZE; j++) {
-                if (board.get(i, j) != null && board.get(i, j).getColor() == Color.BLACK) {
-                    List<Move> sequence = longestCaptureSequence[i][j];
-                    if (sequence.size() > maxSequenceLength) {
-                        maxSequenceLength = sequence.size();
-                        longestCaptureSequences = new ArrayList<>();
-                        longestCaptureSequences.add(sequence);
-                    }
-                    if (sequence.size() == maxSequenceLength) {
-                        longestCaptureSequences.add(sequence);
-                    }
-                }
+        for (int pieces = black; pieces != 0; pieces &= pieces - 1) {
+            int s = Integer.numberOfTrailingZeros(pieces);
+            if (chainLength[s] > maxSequenceLength) {
+                maxSequenceLength = chainLength[s];
+                count = 0;
+            }
+            if (chainLength[s] == maxSequenceLength && maxSequenceLength > 0) {
+                candidates[count++] = s;
             }
         }
-        if (!longestCaptureSequences.isEmpty()) {
-            return chooseRandomSequence(longestCaptureSequences);
+        List<Move> sequence = new ArrayList<>();
+        if (count == 0) return sequence;
+        int s = candidates[random.nextInt(count)];
+        while (nextHop[s] != NONE) {
+            int land = nextHop[s];
+            sequence.add(new Move(Squares.row(s), Squares.col(s), Squares.row(land), Squares.col(land)));
+            s = land;
         }
-        return new ArrayList<>();
-    }
-
-    private List<Move> chooseRandomSequence(List<List<Move>> longestCaptureSequences) {
-        Random random = new Random();
-        return longestCaptureSequences.get(random.nextInt(longestCaptureSequences.size()));
+        return sequence;
     }
 
+    /**
+     * Quiet moves for Black whose landing square has a square beyond it that White does not
+     * hold, listed by square and then right before left.
+     */
     private List<Move> getQuietMovesForBlack(Board board) {
+        int white = board.getWhiteMask();
+        int occupied = white | board.getBlackMask();
         List<Move> quietMoves = new ArrayList<>();
-        for (int i = 0; i < Board.SIZE; i++) {
-            for (int j = 0; j < Board.SIZE; j++) {
-                if (board.isInside(i + 1, j + 1) && board.isInside(i + 2, j + 2)) {
-                    if (board.get(i, j) != null && board.get(i, j).getColor() == Color.BLACK) {
-                        if (board.get(i + 1, j + 1) == null) {
-                            if ((board.get(i + 2, j + 2) != null && board.get(i + 2, j + 2).getColor() != Color.WHITE) || board.get(i + 2, j + 2) == null) {
-                                quietMoves.add(new Move(i, j, i + 1, j + 1));
-                            }
-                        }
-                    }
-                }
-                if (board.isInside(i + 1, j - 1) && board.isInside(i + 2, j - 2)) {
-                    if (board.get(i, j) != null && board.get(i, j).getColor() == Color.BLACK) {
-                        if (board.get(i + 1, j - 1) == null) {
-                            if ((board.get(i + 2, j - 2) != null && board.get(i + 2, j - 2).getColor() != Color.WHITE) || board.get(i + 2, j - 2) == null) {
-                                quietMoves.add(new Move(i, j, i + 1, j - 1));
-                            }
-                        }
-                    }
-                }
-            }
+        for (int pieces = board.getBlackMask(); pieces != 0; pieces &= pieces - 1) {
+            int s = Integer.numberOfTrailingZeros(pieces);
+            addSafeQuietMove(quietMoves, s, RIGHT, white, occupied);
+            addSafeQuietMove(quietMoves, s, LEFT, white, occupied);
         }
         return quietMoves;
     }
 
+    private static void addSafeQuietMove(List<Move> quietMoves, int s, int direction, int white, int occupied) {
+        int beyond = MoveGenerator.landing(s, direction);
+        if (beyond == NONE || (white & (1 << beyond)) != 0) return;
+        int next = MoveGenerator.neighbor(s, direction);
+        if ((occupied & (1 << next)) == 0) {
+            quietMoves.add(new Move(Squares.row(s), Squares.col(s), Squares.row(next), Squares.col(next)));
+        }
+    }
+
     private List<Move> chooseRandomQuietMove(Board board, GameService logic) {
         List<Move> quietMoves = getQuietMovesForBlack(board);
-        Random random = new Random();
         List<Move> quietMovesResult = new ArrayList<>();
         if (!quietMoves.isEmpty()) {
             quietMovesResult.add(quietMoves.get(random.nextInt(quietMoves.size())));
@@ -154,5 +138,3 @@ public final class AssignmentStrategy implements ComputerStrategy {
         return quietMovesResult;
     }
 }
-
-
@@ -1,75 +1,142 @@
 package com.axioma.checkers.model;
 
-import java.util.Arrays;
-
 /**
  * Represents the 8x8 board with nullable {@link Piece} cells.
+ * Occupancy is stored as one 32-bit mask per color over the dark squares
+ * (see {@link Squares}); {@link #get} and {@link #set} adapt the masks to cells.
  */
 public final class Board {
     public static final int SIZE = 8;
 
-    private final Piece[][] cells;
+    private static final Piece WHITE_PIECE = new Piece(Color.WHITE);
+    private static final Piece BLACK_PIECE = new Piece(Color.BLACK);
+
+    private int white;
+    private int black;
+    private long key;
 
     /**
      * Creates an empty board.
      */
     public Board() {
-        this.cells = new Piece[SIZE][SIZE];
     }
 
     /**
      * Copy constructor for defensive copying.
      */
     public Board(Board other) {
-        this();
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                Piece piece = other.cells[r][c];
-                if (piece != null) {
-                    this.cells[r][c] = new Piece(piece.getColor());
-                }
-            }
-        }
+        this.white = other.white;
+        this.black = other.black;
+        this.key = other.key;
     }
 
     /**
      * Initializes the board to the standard starting setup.
      */
     public void setupInitial() {
-        for (int r = 0; r < SIZE; r++) {
-            Arrays.fill(cells[r], null);
-        }
-        // Place black pieces on rows 0,1,2 on dark squares
-        for (int r = 0; r < 3; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                if ((r + c) % 2 == 1) {
-                    cells[r][c] = new Piece(Color.BLACK);
-                }
-            }
-        }
-        // Place white pieces on rows 5,6,7 on dark squares
-        for (int r = SIZE - 3; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                if ((r + c) % 2 == 1) {
-                    cells[r][c] = new Piece(Color.WHITE);
-                }
-            }
-        }
+        // Black pieces on rows 0,1,2 and white pieces on rows 5,6,7 (dark squares only)
+        this.black = Squares.rowMask(0) | Squares.rowMask(1) | Squares.rowMask(2);
+        this.white = Squares.rowMask(SIZE - 3) | Squares.rowMask(SIZE - 2) | Squares.rowMask(SIZE - 1);
+        this.key = Zobrist.of(white, black);
     }
 
     public Piece get(int row, int col) {
-        return cells[row][col];
+        checkInside(row, col);
+        if (!Squares.isDark(row, col)) return null;
+        int bit = 1 << Squares.index(row, col);
+        if ((white & bit) != 0) return WHITE_PIECE;
+        if ((black & bit) != 0) return BLACK_PIECE;
+        return null;
     }
 
     public void set(int row, int col, Piece piece) {
-        cells[row][col] = piece;
+        checkInside(row, col);
+        if (!Squares.isDark(row, col)) {
+            if (piece != null) {
+                throw new IllegalArgumentException("pieces can only be placed on dark squares");
+            }
+            return;
+        }
+        int square = Squares.index(row, col);
+        int bit = 1 << square;
+        if ((white & bit) != 0) toggle(Color.WHITE, square);
+        if ((black & bit) != 0) toggle(Color.BLACK, square);
+        if (piece != null) toggle(piece.getColor(), square);
     }
 
     public boolean isInside(int row, int col) {
         return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
     }
-}
 
+    /**
+     * @return the mask of dark squares holding a piece of the given color
+     */
+    public int getMask(Color color) {
+        return color == Color.WHITE ? white : black;
+    }
+
+    /**
+     * @return the number of pieces of the given color
+     */
+    public int getPieceCount(Color color) {
+        return Integer.bitCount(getMask(color));
+    }
+
+    public int getWhiteMask() {
+        return white;
+    }
+
+    public int getBlackMask() {
+        return black;
+    }
 
+    /**
+     * Replaces the whole position. The masks must not overlap.
+     */
+    public void setMasks(int white, int black) {
+        if ((white & black) != 0) {
+            throw new IllegalArgumentException("white and black masks overlap");
+        }
+        this.white = white;
+        this.black = black;
+        this.key = Zobrist.of(white, black);
+    }
 
+    /**
+     * @return the Zobrist key of the piece placement, excluding the side to move
+     */
+    public long getKey() {
+        return key;
+    }
 
+    /**
+     * Flips the occupancy of one square for one color, keeping the key in step.
+     */
+    void toggle(Color color, int square) {
+        if (color == Color.WHITE) {
+            white ^= 1 << square;
+        } else {
+            black ^= 1 << square;
+        }
+        key ^= Zobrist.piece(color, square);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Board)) return false;
+        Board board = (Board) o;
+        return white == board.white && black == board.black;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    private void checkInside(int row, int col) {
+        if (!isInside(row, col)) {
+            throw new IndexOutOfBoundsException("(" + row + "," + col + ") is outside the board");
+        }
+    }
+}
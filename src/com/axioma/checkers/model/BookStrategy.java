@@ -0,0 +1,43 @@
+package com.axioma.checkers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays Black from an {@link OpeningBook} while the position is in the book, without
+ * searching, and hands every other position to a fallback strategy.
+ */
+public final class BookStrategy implements ComputerStrategy {
+    private final OpeningBook book;
+    private final int minGames;
+    private final ComputerStrategy fallback;
+
+    /**
+     * @param minGames fewest games a book move needs before it is trusted
+     */
+    public BookStrategy(OpeningBook book, int minGames, ComputerStrategy fallback) {
+        this.book = book;
+        this.minGames = minGames;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic) {
+        return chooseMoveSequence(board, logic, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic, long deadlineNanos) {
+        int move = book.probe(Zobrist.withSide(board.getKey(), Color.BLACK), minGames);
+        if (move != 0) {
+            Move bookMove = MoveGenerator.toMove(move);
+            // A key collision must never produce an illegal move
+            if (logic.isLegalMove(board, bookMove, Color.BLACK)) {
+                List<Move> result = new ArrayList<>();
+                result.add(bookMove);
+                return result;
+            }
+        }
+        return fallback.chooseMoveSequence(board, logic, deadlineNanos);
+    }
+}
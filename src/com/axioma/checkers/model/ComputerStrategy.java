@@ -11,6 +11,15 @@ public interface ComputerStrategy {
      * capture sequence for some piece; otherwise returns a single quiet move.
      */
     List<Move> chooseMoveSequence(Board board, GameService logic);
+
+    /**
+     * Like {@link #chooseMoveSequence(Board, GameService)}, but stops searching by
+     * {@code deadlineNanos} on the {@link System#nanoTime()} clock, or by the strategy's own
+     * budget if that comes first. Strategies without a clock ignore the deadline.
+     */
+    default List<Move> chooseMoveSequence(Board board, GameService logic, long deadlineNanos) {
+        return chooseMoveSequence(board, logic);
+    }
 }
 
 
@@ -0,0 +1,154 @@
+package com.axioma.checkers.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Thread-safe totals over many move decisions, fed by {@link MeteredStrategy}. Readable
+ * through JMX once {@link #register registered}, or as one scrape-friendly line of
+ * {@code key=value} pairs from {@link #format()}.
+ */
+public final class EngineMetrics implements EngineMetricsMXBean {
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder depthSum = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final LongAdder tableProbes = new LongAdder();
+    private final LongAdder tableHits = new LongAdder();
+    private final LongAdder cutoffs = new LongAdder();
+    private final LongAdder firstMoveCutoffs = new LongAdder();
+    private final LongAdder moveGenerations = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder allocationSamples = new LongAdder();
+
+    /**
+     * Adds one decision. Search counters are zero for strategies that do not search.
+     * @param allocated bytes allocated by the deciding thread, or -1 if unknown
+     */
+    void record(long decisionNanos, long decisionNodes, int depth, long probes, long hits,
+                long betaCutoffs, long firstCutoffs, long generations, long allocated) {
+        decisions.increment();
+        nanos.add(decisionNanos);
+        nodes.add(decisionNodes);
+        depthSum.add(depth);
+        maxDepth.accumulateAndGet(depth, Math::max);
+        tableProbes.add(probes);
+        tableHits.add(hits);
+        cutoffs.add(betaCutoffs);
+        firstMoveCutoffs.add(firstCutoffs);
+        moveGenerations.add(generations);
+        if (allocated >= 0) {
+            allocatedBytes.add(allocated);
+            allocationSamples.increment();
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server as
+     * {@code com.axioma.checkers:type=EngineMetrics,name=<name>}.
+     */
+    public void register(String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName("com.axioma.checkers:type=EngineMetrics,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+            server.registerMBean(this, objectName);
+        } catch (JMException ex) {
+            throw new IllegalStateException("Cannot register engine metrics " + name, ex);
+        }
+    }
+
+    @Override
+    public long getDecisions() {
+        return decisions.sum();
+    }
+
+    @Override
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    @Override
+    public long getNodesPerSecond() {
+        long total = nanos.sum();
+        return total == 0 ? 0 : (long) (nodes.sum() * 1e9 / total);
+    }
+
+    @Override
+    public double getAverageDepth() {
+        return perDecision(depthSum.sum());
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    public double getAverageDecisionMillis() {
+        return perDecision(nanos.sum()) / 1e6;
+    }
+
+    @Override
+    public double getTableHitRate() {
+        long probes = tableProbes.sum();
+        return probes == 0 ? 0 : (double) tableHits.sum() / probes;
+    }
+
+    @Override
+    public double getFirstMoveCutoffRate() {
+        long total = cutoffs.sum();
+        return total == 0 ? 0 : (double) firstMoveCutoffs.sum() / total;
+    }
+
+    @Override
+    public double getMoveGenerationsPerDecision() {
+        return perDecision(moveGenerations.sum());
+    }
+
+    @Override
+    public double getBytesAllocatedPerDecision() {
+        long samples = allocationSamples.sum();
+        return samples == 0 ? -1 : (double) allocatedBytes.sum() / samples;
+    }
+
+    /**
+     * Clears every total. Not atomic with concurrent decisions, which may be split.
+     */
+    @Override
+    public void reset() {
+        decisions.reset();
+        nanos.reset();
+        nodes.reset();
+        depthSum.reset();
+        maxDepth.set(0);
+        tableProbes.reset();
+        tableHits.reset();
+        cutoffs.reset();
+        firstMoveCutoffs.reset();
+        moveGenerations.reset();
+        allocatedBytes.reset();
+        allocationSamples.reset();
+    }
+
+    /**
+     * @return every metric on one line of {@code key=value} pairs
+     */
+    public String format() {
+        return String.format("decisions=%d nodes=%d nps=%d depth_avg=%.2f depth_max=%d decision_ms_avg=%.3f "
+                        + "tt_hit_rate=%.3f first_move_cutoff_rate=%.3f movegen_per_decision=%.1f bytes_per_decision=%.0f",
+                getDecisions(), getNodes(), getNodesPerSecond(), getAverageDepth(), getMaxDepth(),
+                getAverageDecisionMillis(), getTableHitRate(), getFirstMoveCutoffRate(),
+                getMoveGenerationsPerDecision(), getBytesAllocatedPerDecision());
+    }
+
+    private double perDecision(long total) {
+        long count = decisions.sum();
+        return count == 0 ? 0 : (double) total / count;
+    }
+}
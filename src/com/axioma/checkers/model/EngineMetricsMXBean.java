@@ -0,0 +1,42 @@
+package com.axioma.checkers.model;
+
+/**
+ * JMX view of {@link EngineMetrics}. All values are totals or averages since the metrics
+ * were created or last reset.
+ */
+public interface EngineMetricsMXBean {
+    long getDecisions();
+
+    long getNodes();
+
+    long getNodesPerSecond();
+
+    double getAverageDepth();
+
+    int getMaxDepth();
+
+    double getAverageDecisionMillis();
+
+    /**
+     * @return share of transposition table probes that found an entry
+     */
+    double getTableHitRate();
+
+    /**
+     * @return share of beta cutoffs produced by the first move searched
+     */
+    double getFirstMoveCutoffRate();
+
+    /**
+     * @return move generator calls per decision that went through {@link GameService} or
+     *         were reported by {@link SearchStatistics}
+     */
+    double getMoveGenerationsPerDecision();
+
+    /**
+     * @return bytes allocated by the deciding thread per decision, or -1 if the JVM cannot tell
+     */
+    double getBytesAllocatedPerDecision();
+
+    void reset();
+}
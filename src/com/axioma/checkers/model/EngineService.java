@@ -0,0 +1,215 @@
+package com.axioma.checkers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Admission-controlled front end for a {@link ComputerStrategy}, playing Black like the
+ * strategies it runs. Callers queue move requests on a bounded queue; a fixed set of worker
+ * threads, each with its own strategy instance, drain the queue in batches of at most their
+ * fair share of what is waiting, so a burst is spread over every idle worker.
+ *
+ * <p>Every request has a deadline. A caller whose deadline passes, whose request does not fit
+ * in the queue or whose engine fails gets a quick move instead: the first capture, else the
+ * first quiet move. Requests that expired while queued are answered the same way without
+ * running the engine, so a burst cannot build up a backlog of stale searches; the deadline is
+ * checked again as each search of a batch starts, and the engine is told to stop
+ * {@link #SEARCH_MARGIN_NANOS} before it, so its answer reaches the caller in time.
+ */
+public final class EngineService implements AutoCloseable {
+    /**
+     * How long before the caller's deadline a search must stop: the engine only reads its
+     * clock every so many nodes, and its answer still has to reach the waiting caller.
+     */
+    static final long SEARCH_MARGIN_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final BlockingQueue<Request> queue;
+    private final Thread[] workers;
+    private final int batchSize;
+    private final GameService logic = new GameService();
+
+    private final AtomicLong taken = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param engine factory for the strategy, called once per worker thread
+     * @param workers number of worker threads
+     * @param queueCapacity requests that may wait before callers get the quick move
+     * @param batchSize most requests a worker takes from the queue at once
+     */
+    public EngineService(Supplier<ComputerStrategy> engine, int workers, int queueCapacity, int batchSize) {
+        if (workers < 1) throw new IllegalArgumentException("workers must be positive");
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be positive");
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.workers = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            ComputerStrategy strategy = engine.get();
+            Thread worker = new Thread(() -> work(strategy), "engine-" + i);
+            worker.setDaemon(true);
+            this.workers[i] = worker;
+            worker.start();
+        }
+    }
+
+    /**
+     * Chooses a move sequence for Black within {@code deadlineMillis}, falling back to a quick
+     * move when the engine cannot answer in time or fails.
+     */
+    public List<Move> chooseMoveSequence(Board board, long deadlineMillis) throws InterruptedException {
+        long now = System.nanoTime();
+        Request request = new Request(new Board(board), now, now + TimeUnit.MILLISECONDS.toNanos(deadlineMillis));
+        if (closed || !queue.offer(request)) {
+            rejected.incrementAndGet();
+            return quickMove(board);
+        }
+        try {
+            return request.result.get(request.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            // Completing first makes a late worker result a no-op
+            List<Move> quick = quickMove(board);
+            if (ex instanceof ExecutionException || request.result.complete(quick)
+                    || request.result.isCompletedExceptionally()) {
+                // The engine failed, or gave up at the same moment: answer with the quick move
+                fallbacks.incrementAndGet();
+                return quick;
+            }
+            return request.result.getNow(quick);
+        }
+    }
+
+    /**
+     * @return the first capture, else the first quiet move, else an empty sequence
+     */
+    public List<Move> quickMove(Board board) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        List<Move> sequence = new ArrayList<>();
+        int count = logic.getLegalMoves(board, Color.BLACK, moves);
+        if (count > 0) sequence.add(MoveGenerator.toMove(moves[0]));
+        return sequence;
+    }
+
+    /**
+     * @return requests waiting for a worker
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return requests answered by the engine
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * @return requests answered with the quick move after a deadline or engine failure
+     */
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    /**
+     * @return requests answered with the quick move because the queue was full
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * @return average number of requests a worker took per wake-up
+     */
+    public double getAverageBatchSize() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) taken.get() / count;
+    }
+
+    /**
+     * @return average time a request spent queued before a worker picked it up
+     */
+    public double getAverageWaitMillis() {
+        long count = taken.get();
+        return count == 0 ? 0 : totalWaitNanos.get() / 1e6 / count;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1e6;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread worker : workers) worker.interrupt();
+        List<Request> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        for (Request request : pending) request.result.complete(quickMove(request.board));
+    }
+
+    private void work(ComputerStrategy strategy) {
+        List<Request> batch = new ArrayList<>(batchSize);
+        GameService workerLogic = new GameService();
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            // Take no more than a fair share, so a burst spreads over the idle workers
+            queue.drainTo(batch, Math.min(batchSize - 1, queue.size() / workers.length));
+            batches.incrementAndGet();
+            taken.addAndGet(batch.size());
+            for (Request request : batch) {
+                long start = System.nanoTime();
+                long wait = start - request.enqueued;
+                totalWaitNanos.addAndGet(wait);
+                maxWaitNanos.accumulateAndGet(wait, Math::max);
+                if (request.result.isDone()) {
+                    continue; // the caller already gave up
+                }
+                long searchDeadline = request.deadline - SEARCH_MARGIN_NANOS;
+                if (start >= searchDeadline) {
+                    if (request.result.complete(quickMove(request.board))) fallbacks.incrementAndGet();
+                } else {
+                    try {
+                        List<Move> sequence = strategy.chooseMoveSequence(request.board, workerLogic, searchDeadline);
+                        if (request.result.complete(sequence)) {
+                            completed.incrementAndGet();
+                        }
+                    } catch (RuntimeException ex) {
+                        request.result.completeExceptionally(ex);
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private static final class Request {
+        final Board board;
+        final long enqueued;
+        final long deadline;
+        final CompletableFuture<List<Move>> result = new CompletableFuture<>();
+
+        Request(Board board, long enqueued, long deadline) {
+            this.board = board;
+            this.enqueued = enqueued;
+            this.deadline = deadline;
+        }
+    }
+}
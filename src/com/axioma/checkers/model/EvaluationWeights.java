@@ -0,0 +1,166 @@
+package com.axioma.checkers.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Weights of the {@link Evaluator}, in centipieces from the point of view of the side that
+ * owns the piece. Stored as a properties file so they can be tuned without rebuilding:
+ * <pre>
+ * material=100
+ * distance.1=24
+ * ...
+ * distance.7=0
+ * runner=60
+ * tempo=4
+ * </pre>
+ * {@code distance.d} is the piece-square bonus of a piece {@code d} rows from its
+ * promotion rank; missing keys keep their default.
+ */
+public final class EvaluationWeights {
+    /** Largest distance to the promotion rank; a piece on its own back rank. */
+    public static final int MAX_DISTANCE = Board.SIZE - 1;
+
+    /** Length of {@link #toArray}: material, distance 1 to {@link #MAX_DISTANCE}, runner and tempo. */
+    public static final int PARAMETERS = MAX_DISTANCE + 3;
+
+    private static final int[] DEFAULT_DISTANCE = {0, 24, 20, 16, 12, 8, 4, 0};
+
+    private final int material;
+    private final int[] distance;
+    private final int runner;
+    private final int tempo;
+
+    /**
+     * @param distance bonus per distance to the promotion rank, indexed 1 to {@link #MAX_DISTANCE};
+     *                 index 0 is unused
+     */
+    public EvaluationWeights(int material, int[] distance, int runner, int tempo) {
+        if (distance.length != MAX_DISTANCE + 1) {
+            throw new IllegalArgumentException("distance needs " + (MAX_DISTANCE + 1) + " entries");
+        }
+        this.material = material;
+        this.distance = distance.clone();
+        this.distance[0] = 0;
+        this.runner = runner;
+        this.tempo = tempo;
+    }
+
+    /**
+     * The weights the search used before they became configurable, plus runner and tempo terms.
+     */
+    public static EvaluationWeights defaults() {
+        return new EvaluationWeights(100, DEFAULT_DISTANCE, 60, 4);
+    }
+
+    public static EvaluationWeights load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        }
+        EvaluationWeights base = defaults();
+        int[] distance = new int[MAX_DISTANCE + 1];
+        for (int d = 1; d <= MAX_DISTANCE; d++) {
+            distance[d] = read(properties, "distance." + d, base.distance[d]);
+        }
+        return new EvaluationWeights(read(properties, "material", base.material), distance,
+                read(properties, "runner", base.runner), read(properties, "tempo", base.tempo));
+    }
+
+    /**
+     * @param values weights in {@link #toArray} order
+     */
+    public static EvaluationWeights fromArray(int[] values) {
+        if (values.length != PARAMETERS) {
+            throw new IllegalArgumentException("expected " + PARAMETERS + " weights, got " + values.length);
+        }
+        int[] distance = new int[MAX_DISTANCE + 1];
+        System.arraycopy(values, 1, distance, 1, MAX_DISTANCE);
+        return new EvaluationWeights(values[0], distance, values[MAX_DISTANCE + 1], values[MAX_DISTANCE + 2]);
+    }
+
+    /**
+     * @return material, distance 1 to {@link #MAX_DISTANCE}, runner and tempo, in that order
+     */
+    public int[] toArray() {
+        int[] values = new int[PARAMETERS];
+        values[0] = material;
+        System.arraycopy(distance, 1, values, 1, MAX_DISTANCE);
+        values[MAX_DISTANCE + 1] = runner;
+        values[MAX_DISTANCE + 2] = tempo;
+        return values;
+    }
+
+    public void write(Path path) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("# Evaluation weights in centipieces" + System.lineSeparator());
+            out.write("material=" + material + System.lineSeparator());
+            for (int d = 1; d <= MAX_DISTANCE; d++) {
+                out.write("distance." + d + "=" + distance[d] + System.lineSeparator());
+            }
+            out.write("runner=" + runner + System.lineSeparator());
+            out.write("tempo=" + tempo + System.lineSeparator());
+        }
+    }
+
+    public int getMaterial() {
+        return material;
+    }
+
+    /**
+     * @return the bonus of a piece {@code rows} away from its promotion rank
+     */
+    public int getDistance(int rows) {
+        return distance[rows];
+    }
+
+    /**
+     * @return the bonus for the side whose unstoppable runner wins the promotion race
+     */
+    public int getRunner() {
+        return runner;
+    }
+
+    /**
+     * @return the bonus for having the move
+     */
+    public int getTempo() {
+        return tempo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EvaluationWeights)) return false;
+        EvaluationWeights other = (EvaluationWeights) o;
+        return material == other.material && runner == other.runner && tempo == other.tempo
+                && Arrays.equals(distance, other.distance);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * material + runner) + tempo) + Arrays.hashCode(distance);
+    }
+
+    @Override
+    public String toString() {
+        return "material=" + material + " distance=" + Arrays.toString(Arrays.copyOfRange(distance, 1, distance.length))
+                + " runner=" + runner + " tempo=" + tempo;
+    }
+
+    private static int read(Properties properties, String key, int fallback) {
+        String value = properties.getProperty(key);
+        if (value == null) return fallback;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Weight " + key + " is not an integer: " + value, ex);
+        }
+    }
+}
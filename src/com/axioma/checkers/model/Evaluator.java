@@ -0,0 +1,145 @@
+package com.axioma.checkers.model;
+
+import java.util.Arrays;
+
+/**
+ * Static evaluation for the queen-race variant, from Black's point of view unless noted.
+ *
+ * <p>Material and the distance of every piece to its promotion rank are folded into one
+ * piece-square value per color and square, so their sum is kept incrementally: a search
+ * computes it once with {@link #material} and then adjusts it per move with {@link #update},
+ * the same way it threads the {@link Zobrist} key. The race terms depend on the whole
+ * board and are added at the leaf by {@link #evaluate}: a runner is a piece with no
+ * opposing piece in its forward cone, which no opposing piece can intercept in time, and
+ * the side whose fastest runner promotes first, counting the move, gets the runner bonus.
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ */
+public final class Evaluator {
+    private static final int NO_RUNNER = Integer.MAX_VALUE;
+
+    /** Squares ahead of a piece within its diagonal spread, per color and square. */
+    private static final int[][] CONE = new int[2][Squares.COUNT];
+
+    static {
+        for (int s = 0; s < Squares.COUNT; s++) {
+            int row = Squares.row(s);
+            int col = Squares.col(s);
+            for (int t = 0; t < Squares.COUNT; t++) {
+                int spread = Math.abs(Squares.col(t) - col);
+                int down = Squares.row(t) - row;
+                if (down > 0 && spread <= down) CONE[Color.BLACK.ordinal()][s] |= 1 << t;
+                if (down < 0 && spread <= -down) CONE[Color.WHITE.ordinal()][s] |= 1 << t;
+            }
+        }
+    }
+
+    private final EvaluationWeights weights;
+    private final int[] whiteValue = new int[Squares.COUNT];
+    private final int[] blackValue = new int[Squares.COUNT];
+
+    public Evaluator(EvaluationWeights weights) {
+        this.weights = weights;
+        for (int s = 0; s < Squares.COUNT; s++) {
+            int row = Squares.row(s);
+            whiteValue[s] = weights.getMaterial() + weights.getDistance(row);
+            blackValue[s] = weights.getMaterial() + weights.getDistance(EvaluationWeights.MAX_DISTANCE - row);
+        }
+    }
+
+    public EvaluationWeights getWeights() {
+        return weights;
+    }
+
+    /**
+     * Computes the incremental part, material plus distance, from scratch.
+     */
+    public int material(int white, int black) {
+        int score = 0;
+        for (int m = black; m != 0; m &= m - 1) score += blackValue[Integer.numberOfTrailingZeros(m)];
+        for (int m = white; m != 0; m &= m - 1) score -= whiteValue[Integer.numberOfTrailingZeros(m)];
+        return score;
+    }
+
+    /**
+     * Returns {@code score}, as from {@link #material}, after {@code mover} plays a packed move.
+     */
+    public int update(int score, Color mover, int move) {
+        int from = MoveGenerator.from(move);
+        int to = MoveGenerator.to(move);
+        if (mover == Color.BLACK) {
+            score += blackValue[to] - blackValue[from];
+            if (MoveGenerator.isCapture(move)) score += whiteValue[MoveGenerator.captured(move)];
+        } else {
+            score -= whiteValue[to] - whiteValue[from];
+            if (MoveGenerator.isCapture(move)) score -= blackValue[MoveGenerator.captured(move)];
+        }
+        return score;
+    }
+
+    /**
+     * Scores a position for {@code side}, the side to move, given its incremental part.
+     */
+    public int evaluate(int white, int black, int material, Color side) {
+        int score = material;
+        int whiteRace = fastestRunner(white, black, Color.WHITE);
+        int blackRace = fastestRunner(black, white, Color.BLACK);
+        if (whiteRace != NO_RUNNER || blackRace != NO_RUNNER) {
+            // The side to move gets there first on equal distance
+            boolean blackWins = side == Color.BLACK ? blackRace <= whiteRace : blackRace < whiteRace;
+            score += blackWins ? weights.getRunner() : -weights.getRunner();
+        }
+        return (side == Color.BLACK ? score : -score) + weights.getTempo();
+    }
+
+    /**
+     * Scores a position for {@code side} from scratch.
+     */
+    public int evaluate(int white, int black, Color side) {
+        return evaluate(white, black, material(white, black), side);
+    }
+
+    /**
+     * Counts how often each weight, in {@link EvaluationWeights#toArray} order, enters
+     * {@link #evaluate(int, int, Color)} for {@code side}, so that the evaluation is the dot
+     * product of {@code terms} with the weights. Tuners fit the weights against these.
+     * @param terms receives {@link EvaluationWeights#PARAMETERS} counts
+     */
+    public static void terms(int white, int black, Color side, int[] terms) {
+        Arrays.fill(terms, 0);
+        int sign = side == Color.BLACK ? 1 : -1;
+        // Distance d is at index d; a piece on its promotion rank, distance 0, has no bonus
+        for (int m = black; m != 0; m &= m - 1) {
+            int distance = EvaluationWeights.MAX_DISTANCE - Squares.row(Integer.numberOfTrailingZeros(m));
+            if (distance > 0) terms[distance] += sign;
+        }
+        for (int m = white; m != 0; m &= m - 1) {
+            int distance = Squares.row(Integer.numberOfTrailingZeros(m));
+            if (distance > 0) terms[distance] -= sign;
+        }
+        terms[0] = sign * (Integer.bitCount(black) - Integer.bitCount(white));
+        int whiteRace = fastestRunner(white, black, Color.WHITE);
+        int blackRace = fastestRunner(black, white, Color.BLACK);
+        if (whiteRace != NO_RUNNER || blackRace != NO_RUNNER) {
+            boolean blackWins = side == Color.BLACK ? blackRace <= whiteRace : blackRace < whiteRace;
+            terms[EvaluationWeights.MAX_DISTANCE + 1] = blackWins ? sign : -sign;
+        }
+        terms[EvaluationWeights.MAX_DISTANCE + 2] = 1;
+    }
+
+    /**
+     * @return rows the closest runner of {@code player} still has to travel, or {@code NO_RUNNER}
+     */
+    private static int fastestRunner(int own, int opp, Color player) {
+        int[] cones = CONE[player.ordinal()];
+        int best = NO_RUNNER;
+        for (int m = own; m != 0; m &= m - 1) {
+            int s = Integer.numberOfTrailingZeros(m);
+            if ((opp & cones[s]) != 0) continue;
+            int row = Squares.row(s);
+            int distance = player == Color.WHITE ? row : EvaluationWeights.MAX_DISTANCE - row;
+            if (distance < best) best = distance;
+        }
+        return best;
+    }
+}
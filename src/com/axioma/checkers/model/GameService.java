@@ -3,39 +3,83 @@ package com.axioma.checkers.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Provides rules validation and move generation for Checkers.
  */
 public final class GameService {
+    private static final int UNDO_BLACK_MOVER = 1 << 11;
+    private static final int UNDO_CAPTURED = 1 << 12;
+    private static final int UNDO_CAPTURED_BLACK = 1 << 13;
+
+    private final LongAdder moveGenerations = new LongAdder();
 
     /**
      * Returns all legal moves for a given player on the given board.
      */
     public List<Move> getLegalMoves(Board board, Color player) {
+        moveGenerations.increment();
         List<Move> captureMoves = new ArrayList<>();
         List<Move> quietMoves = new ArrayList<>();
-
-        for (int r = 0; r < Board.SIZE; r++) {
-            for (int c = 0; c < Board.SIZE; c++) {
-                Piece piece = board.get(r, c);
-                if (piece == null || piece.getColor() != player) continue;
-                addPieceMoves(board, r, c, piece, captureMoves, quietMoves);
-            }
+        int own = board.getMask(player);
+        int opp = board.getMask(player.opposite());
+        // Ascending squares visit the pieces in the same row-by-row order as the board
+        for (int pieces = own; pieces != 0; pieces &= pieces - 1) {
+            addPieceMoves(Integer.numberOfTrailingZeros(pieces), player, own | opp, opp, captureMoves, quietMoves);
         }
         List<Move> legalMoves = new ArrayList<>();
         legalMoves.addAll(captureMoves);
         legalMoves.addAll(quietMoves);
-       return legalMoves;
+        return legalMoves;
+    }
+
+    /**
+     * Writes all legal moves for a player as packed moves (see {@link MoveGenerator}) into
+     * a reusable buffer of at least {@link MoveGenerator#MAX_MOVES} entries.
+     * @return the number of moves written
+     */
+    public int getLegalMoves(Board board, Color player, int[] buffer) {
+        moveGenerations.increment();
+        return MoveGenerator.generate(board.getMask(player), board.getMask(player.opposite()), player, buffer, 0);
     }
 
 
     /**
-     * Checks if the provided move is legal for the player.
+     * @return calls to either {@code getLegalMoves} on this instance, from any thread
+     */
+    public long getMoveGenerations() {
+        return moveGenerations.sum();
+    }
+
+    /**
+     * Checks if the provided move is legal for the player by looking only at the from,
+     * middle and landing squares. Agrees with {@link #getLegalMoves(Board, Color)}:
+     * captures are not forced.
      */
     public boolean isLegalMove(Board board, Move move, Color player) {
-        List<Move> legal = getLegalMoves(board, player);
-        return legal.contains(move);
+        int fromRow = move.getFromRow();
+        int fromCol = move.getFromCol();
+        int toRow = move.getToRow();
+        int toCol = move.getToCol();
+        if (!board.isInside(fromRow, fromCol) || !board.isInside(toRow, toCol)) return false;
+        if (!Squares.isDark(fromRow, fromCol) || !Squares.isDark(toRow, toCol)) return false;
+
+        int own = board.getMask(player);
+        int occupied = own | board.getMask(player.opposite());
+        if ((own & (1 << Squares.index(fromRow, fromCol))) == 0) return false;
+        if ((occupied & (1 << Squares.index(toRow, toCol))) != 0) return false;
+
+        // Forward-only: white moves up (-1), black moves down (+1)
+        int forward = player == Color.WHITE ? -1 : 1;
+        int rowStep = toRow - fromRow;
+        int colStep = Math.abs(toCol - fromCol);
+        if (rowStep == forward && colStep == 1) return true;
+        if (rowStep == 2 * forward && colStep == 2) {
+            int mid = Squares.index(fromRow + forward, (fromCol + toCol) / 2);
+            return ((occupied & ~own) & (1 << mid)) != 0;
+        }
+        return false;
     }
 
     /**
@@ -43,8 +87,12 @@ public final class GameService {
      */
     public void applyMove(Board board, Move move) {
         Piece moving = board.get(move.getFromRow(), move.getFromCol());
-        board.set(move.getFromRow(), move.getFromCol(), null);
-        board.set(move.getToRow(), move.getToCol(), moving);
+        if (moving == null) return;
+        Color color = moving.getColor();
+        // Quiet and capture moves both update the board's Zobrist key square by square
+        board.toggle(color, Squares.index(move.getFromRow(), move.getFromCol()));
+        board.set(move.getToRow(), move.getToCol(), null);
+        board.toggle(color, Squares.index(move.getToRow(), move.getToCol()));
 
         if (move.isCapture()) {
             int midRow = (move.getFromRow() + move.getToRow()) / 2;
@@ -56,101 +104,105 @@ public final class GameService {
     }
 
     /**
-     * Updates the game finished state and winner if applicable.
-     * Returns true if the game is over.
+     * Applies a legal move like {@link #applyMove} and returns an undo token for
+     * {@link #unmakeMove}, so tree search can walk one board down and back up.
      */
-    public boolean checkGameOver(Board board, Game game) {
-        if (game.isFinished()) return true;
-
-        // Variant rule: first to reach the opposite back rank wins immediately (queen condition)
-        if (hasPieceOnRow(board, 0, Color.WHITE)) {
-            game.setFinished(true);
-            game.setWinner(Color.WHITE);
-            return true;
-        }
-        if (hasPieceOnRow(board, Board.SIZE - 1, Color.BLACK)) {
-            game.setFinished(true);
-            game.setWinner(Color.BLACK);
-            return true;
-        }
-
-        boolean whiteHasMoves = !getLegalMoves(board, Color.WHITE).isEmpty();
-        boolean blackHasMoves = !getLegalMoves(board, Color.BLACK).isEmpty();
-
-        boolean whiteHasPieces = hasPieces(board, Color.WHITE);
-        boolean blackHasPieces = hasPieces(board, Color.BLACK);
-
-        if (!whiteHasPieces || !whiteHasMoves) {
-            game.setFinished(true);
-            game.setWinner(Color.BLACK);
-            return true;
-        }
-        if (!blackHasPieces || !blackHasMoves) {
-            game.setFinished(true);
-            game.setWinner(Color.WHITE);
-            return true;
-        }
-        return false;
+    public int makeMove(Board board, Move move) {
+        return makeMove(board, MoveGenerator.encode(move));
     }
 
-    private boolean hasPieces(Board board, Color color) {
-        for (int r = 0; r < Board.SIZE; r++) {
-            for (int c = 0; c < Board.SIZE; c++) {
-                Piece p = board.get(r, c);
-                if (p != null && p.getColor() == color) return true;
+    /**
+     * Applies a legal packed move (see {@link MoveGenerator}) and returns an undo token.
+     * Token layout: bits 0-10 the packed move, bit 11 set for a black mover, bit 12 set
+     * when a piece was captured and bit 13 set when that piece was black.
+     */
+    public int makeMove(Board board, int move) {
+        int from = MoveGenerator.from(move);
+        int to = MoveGenerator.to(move);
+        Color color = (board.getWhiteMask() & (1 << from)) != 0 ? Color.WHITE : Color.BLACK;
+        int token = move | (color == Color.BLACK ? UNDO_BLACK_MOVER : 0);
+        board.toggle(color, from);
+        board.toggle(color, to);
+        if (MoveGenerator.isCapture(move)) {
+            int captured = MoveGenerator.captured(move);
+            int bit = 1 << captured;
+            if ((board.getWhiteMask() & bit) != 0) {
+                board.toggle(Color.WHITE, captured);
+                token |= UNDO_CAPTURED;
+            } else if ((board.getBlackMask() & bit) != 0) {
+                board.toggle(Color.BLACK, captured);
+                token |= UNDO_CAPTURED | UNDO_CAPTURED_BLACK;
             }
         }
-        return false;
+        return token;
     }
 
-    private boolean hasPieceOnRow(Board board, int row, Color color) {
-        for (int c = 0; c < Board.SIZE; c++) {
-            Piece p = board.get(row, c);
-            if (p != null && p.getColor() == color) return true;
+    /**
+     * Takes back the move recorded in {@code token}, restoring the moving and captured pieces.
+     * Moves must be unmade in the reverse order they were made.
+     */
+    public void unmakeMove(Board board, int token) {
+        Color color = (token & UNDO_BLACK_MOVER) != 0 ? Color.BLACK : Color.WHITE;
+        board.toggle(color, MoveGenerator.to(token));
+        board.toggle(color, MoveGenerator.from(token));
+        if ((token & UNDO_CAPTURED) != 0) {
+            Color captured = (token & UNDO_CAPTURED_BLACK) != 0 ? Color.BLACK : Color.WHITE;
+            board.toggle(captured, MoveGenerator.captured(token));
         }
-        return false;
     }
 
-    private void addPieceMoves(Board board, int r, int c, Piece piece, List<Move> captures, List<Move> quiets) {
-        // Directions:  white moves up (-1), black moves down (+1);
-        addPieceCaptures(board,r,c,piece,captures);
-        addPieceQuietMoves(board,r,c,piece,quiets);
-        
+    /**
+     * Updates the game finished state and winner if applicable.
+     * Returns true if the game is over.
+     */
+    public boolean checkGameOver(Board board, Game game) {
+        if (game.isFinished()) return true;
+
+        // The board keeps its occupancy masks up to date on every applyMove, so this is O(1)
+        Color winner = winnerOf(board.getWhiteMask(), board.getBlackMask());
+        if (winner == null) return false;
+        game.setFinished(true);
+        game.setWinner(winner);
+        return true;
+    }
+
+    /**
+     * Returns the winner of a position given as occupancy masks, or null if the game goes on.
+     */
+    public Color winnerOf(int white, int black) {
+        // Variant rule: first to reach the opposite back rank wins immediately (queen condition)
+        if ((white & Squares.rowMask(0)) != 0) return Color.WHITE;
+        if ((black & Squares.rowMask(Board.SIZE - 1)) != 0) return Color.BLACK;
+        // A side without pieces has no moves either; White is checked first
+        if (!MoveGenerator.hasMoves(white, black, Color.WHITE)) return Color.BLACK;
+        if (!MoveGenerator.hasMoves(black, white, Color.BLACK)) return Color.WHITE;
+        return null;
+    }
 
+    private void addPieceMoves(int square, Color player, int occupied, int opp, List<Move> captures, List<Move> quiets) {
+        addPieceCaptures(square, player, occupied, opp, captures);
+        addPieceQuietMoves(square, player, occupied, quiets);
     }
 
-    private void addPieceCaptures(Board board, int r, int c, Piece piece, List<Move> captures) {
+    private void addPieceCaptures(int square, Color player, int occupied, int opp, List<Move> captures) {
         // Forward-only captures for all pieces in this variant
-        int forward = piece.getColor() == Color.WHITE ? -1 : 1;
-        int[] dc = new int[]{-1, 1};
-        for (int dcol : dc) {
-            int midR = r + forward;
-            int midC = c + dcol;
-            int landR = r + 2 * forward;
-            int landC = c + 2 * dcol;
-            if (board.isInside(landR, landC) && board.isInside(midR, midC)) {
-                Piece midPiece = board.get(midR, midC);
-                if (midPiece != null && midPiece.getColor() != piece.getColor() && board.get(landR, landC) == null) {
-                    captures.add(new Move(r, c, landR, landC));
-                }
+        int first = MoveGenerator.firstForward(player);
+        for (int dir = first; dir <= first + 1; dir++) {
+            int land = MoveGenerator.landing(square, dir);
+            if (land >= 0 && (opp & (1 << MoveGenerator.neighbor(square, dir))) != 0 && (occupied & (1 << land)) == 0) {
+                captures.add(new Move(Squares.row(square), Squares.col(square), Squares.row(land), Squares.col(land)));
             }
         }
     }
 
-    private void addPieceQuietMoves(Board board, int r, int c, Piece piece, List<Move> quiets) {
+    private void addPieceQuietMoves(int square, Color player, int occupied, List<Move> quiets) {
         // Forward-only quiet moves for all pieces in this variant
-        int forward = piece.getColor() == Color.WHITE ? -1 : 1;
-        int[] dc = new int[]{-1, 1};
-        for (int dcol : dc) {
-            int nr = r + forward;
-            int nc = c + dcol;
-            if (board.isInside(nr, nc) && board.get(nr, nc) == null) {
-                quiets.add(new Move(r, c, nr, nc));
+        int first = MoveGenerator.firstForward(player);
+        for (int dir = first; dir <= first + 1; dir++) {
+            int next = MoveGenerator.neighbor(square, dir);
+            if (next >= 0 && (occupied & (1 << next)) == 0) {
+                quiets.add(new Move(Squares.row(square), Squares.col(square), Squares.row(next), Squares.col(next)));
             }
         }
     }
-
-
 }
-
-
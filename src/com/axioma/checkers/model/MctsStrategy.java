@@ -0,0 +1,360 @@
+package com.axioma.checkers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monte Carlo tree search (UCT) playing Black. Each iteration walks down the tree by the
+ * UCB1 rule, expands the leaf it reaches, plays the game out with uniformly random legal
+ * moves and credits the result to every node on the path. The move visited most at the
+ * root is played.
+ *
+ * <p>The tree lives in a node pool of primitive arrays allocated once: a node is an index,
+ * its children are a contiguous range of the pool, and only the packed move leading to it
+ * is stored; positions are replayed from the root on the way down. Several threads share
+ * one tree without locks. Visits are counted on the way down, before the result is known,
+ * so a path being played out looks like a loss to the other threads for a moment (virtual
+ * loss) and they spread over other branches; a node is expanded by the first thread to
+ * claim it. Once the pool is full, leaves are played out without expanding further.
+ *
+ * <p>A search stops at the time or iteration budget, whichever comes first. Instances are
+ * not thread-safe; call {@link #close()} to release the helper threads.
+ */
+public final class MctsStrategy implements ComputerStrategy, SearchStatistics, AutoCloseable {
+    /** UCB1 exploration constant. */
+    private static final double EXPLORATION = 1.4;
+
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+
+    private static final int UNEXPANDED = -1;
+    private static final int EXPANDING = -2;
+
+    /** Longest game possible: every piece walks forward at most seven rows. */
+    private static final int MAX_GAME_PLIES = 2 * 12 * (Board.SIZE - 1);
+
+    private final long timeBudgetNanos;
+    private final long iterationBudget;
+    private final int maxNodes;
+    private final int[] moves;
+    private final int[] childCount;
+    /** First child of each node, {@link #UNEXPANDED} or {@link #EXPANDING}. */
+    private final AtomicIntegerArray firstChild;
+    private final AtomicIntegerArray visits;
+    /** Playouts won by the player who moved into the node. */
+    private final AtomicIntegerArray wins;
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final AtomicLong iterations = new AtomicLong();
+    private final Worker[] workers;
+    private final ExecutorService helpers;
+    private final List<Future<?>> pending = new ArrayList<>();
+
+    private long deadline;
+    private long lastIterations;
+    private int lastDepth;
+
+    /**
+     * @param threads number of playout threads including the caller, at least 1
+     * @param timeBudgetMillis wall-clock budget per move, or 0 for none
+     * @param iterationBudget playouts per move over all threads, or 0 for none
+     * @param maxNodes size of the node pool
+     */
+    public MctsStrategy(int threads, long timeBudgetMillis, long iterationBudget, int maxNodes) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+        if (timeBudgetMillis < 0 || iterationBudget < 0) {
+            throw new IllegalArgumentException("budgets cannot be negative");
+        }
+        if (timeBudgetMillis == 0 && iterationBudget == 0) {
+            throw new IllegalArgumentException("a search needs a time or iteration budget");
+        }
+        if (maxNodes < 1 + MoveGenerator.MAX_MOVES) {
+            throw new IllegalArgumentException("maxNodes must be at least " + (1 + MoveGenerator.MAX_MOVES));
+        }
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.iterationBudget = iterationBudget;
+        this.maxNodes = maxNodes;
+        this.moves = new int[maxNodes];
+        this.childCount = new int[maxNodes];
+        this.firstChild = new AtomicIntegerArray(maxNodes);
+        this.visits = new AtomicIntegerArray(maxNodes);
+        this.wins = new AtomicIntegerArray(maxNodes);
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(0x9E3779B97F4A7C15L * (i + 1));
+        }
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic) {
+        return chooseMoveSequence(board, logic, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic, long deadlineNanos) {
+        List<Move> result = new ArrayList<>();
+        int white = board.getWhiteMask();
+        int black = board.getBlackMask();
+        if (!MoveGenerator.hasMoves(black, white, Color.BLACK)) return result;
+
+        for (Worker worker : workers) worker.generations = 0;
+        allocated.set(1);
+        reset(0, 0);
+        workers[0].expand(0, white, black, Color.BLACK);
+        iterations.set(0);
+        deadline = Math.min(deadlineNanos,
+                timeBudgetNanos == 0 ? Long.MAX_VALUE : System.nanoTime() + timeBudgetNanos);
+        AtomicBoolean stop = new AtomicBoolean();
+        pending.clear();
+        for (int i = 1; i < workers.length; i++) {
+            Worker helper = workers[i];
+            pending.add(helpers.submit(() -> helper.run(white, black, stop)));
+        }
+        workers[0].run(white, black, stop);
+        stop.set(true);
+        int depth = workers[0].maxDepth;
+        for (Future<?> future : pending) {
+            await(future);
+        }
+        for (int i = 1; i < workers.length; i++) depth = Math.max(depth, workers[i].maxDepth);
+        lastIterations = iterationBudget == 0 ? iterations.get() : Math.min(iterations.get(), iterationBudget);
+        lastDepth = depth;
+
+        int best = mostVisitedChild(0);
+        if (best >= 0) result.add(MoveGenerator.toMove(moves[best]));
+        return result;
+    }
+
+    /**
+     * @return playout threads, including the caller
+     */
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * @return playouts of the last search
+     */
+    @Override
+    public long getLastNodes() {
+        return lastIterations;
+    }
+
+    /**
+     * @return the deepest tree level reached by the last search
+     */
+    @Override
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    @Override
+    public long getLastTableProbes() {
+        return 0;
+    }
+
+    @Override
+    public long getLastTableHits() {
+        return 0;
+    }
+
+    @Override
+    public long getLastCutoffs() {
+        return 0;
+    }
+
+    @Override
+    public long getLastFirstMoveCutoffs() {
+        return 0;
+    }
+
+    @Override
+    public long getLastMoveGenerations() {
+        long total = 0;
+        for (Worker worker : workers) total += worker.generations;
+        return total;
+    }
+
+    @Override
+    public void close() {
+        if (helpers != null) helpers.shutdownNow();
+    }
+
+    private void reset(int node, int move) {
+        moves[node] = move;
+        childCount[node] = 0;
+        firstChild.set(node, UNEXPANDED);
+        visits.set(node, 0);
+        wins.set(node, 0);
+    }
+
+    private int mostVisitedChild(int node) {
+        int first = firstChild.get(node);
+        if (first < 0) return -1;
+        int best = first;
+        for (int c = first + 1; c < first + childCount[node]; c++) {
+            if (visits.get(c) > visits.get(best)) best = c;
+        }
+        return best;
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("MCTS helper failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Per-thread playout state, allocated once.
+     */
+    private final class Worker {
+        private final GameService logic = new GameService();
+        private final SplittableRandom random;
+        private final int[] path = new int[MAX_GAME_PLIES + 1];
+        private final int[] buffer = new int[MoveGenerator.MAX_MOVES];
+        private long generations;
+        private int maxDepth;
+
+        Worker(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        void run(int rootWhite, int rootBlack, AtomicBoolean stop) {
+            maxDepth = 0;
+            while (!stop.get()) {
+                long iteration = iterations.getAndIncrement();
+                if (iterationBudget != 0 && iteration >= iterationBudget) break;
+                if ((iteration & (CLOCK_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() >= deadline) break;
+                iterate(rootWhite, rootBlack);
+            }
+        }
+
+        /**
+         * One selection, expansion, playout and backpropagation.
+         */
+        private void iterate(int white, int black) {
+            Color side = Color.BLACK;
+            Color winner = null;
+            int node = 0;
+            int length = 0;
+            path[length++] = node;
+            visits.incrementAndGet(node);
+            while (true) {
+                int first = firstChild.get(node);
+                if (first == UNEXPANDED && visits.get(node) > 1) first = expand(node, white, black, side);
+                if (first < 0) break;
+                node = select(node, first);
+                path[length++] = node;
+                visits.incrementAndGet(node);
+                int move = moves[node];
+                if (side == Color.WHITE) {
+                    white = apply(white, move);
+                    black = capture(black, move);
+                } else {
+                    black = apply(black, move);
+                    white = capture(white, move);
+                }
+                side = side.opposite();
+                winner = logic.winnerOf(white, black);
+                if (winner != null) break;
+            }
+            if (length - 1 > maxDepth) maxDepth = length - 1;
+            if (winner == null) winner = playout(white, black, side);
+            // Each node is credited to the player who moved into it; the root's children are Black's
+            Color mover = Color.BLACK;
+            for (int i = 1; i < length; i++) {
+                if (mover == winner) wins.incrementAndGet(path[i]);
+                mover = mover.opposite();
+            }
+        }
+
+        /**
+         * Claims and expands {@code node}, with {@code side} to move.
+         * @return its first child, or a negative value if another thread is expanding it or the pool is full
+         */
+        private int expand(int node, int white, int black, Color side) {
+            if (!firstChild.compareAndSet(node, UNEXPANDED, EXPANDING)) return firstChild.get(node);
+            int own = side == Color.WHITE ? white : black;
+            int opp = side == Color.WHITE ? black : white;
+            int count = MoveGenerator.generate(own, opp, side, buffer, 0);
+            generations++;
+            int first = allocated.getAndAdd(count);
+            if (count == 0 || first + count > maxNodes) {
+                // Full pool: leave the node a leaf for good
+                return -1;
+            }
+            for (int i = 0; i < count; i++) reset(first + i, buffer[i]);
+            childCount[node] = count;
+            firstChild.set(node, first);
+            return first;
+        }
+
+        /**
+         * @return the child of {@code node} with the best UCB1 score, unvisited children first
+         */
+        private int select(int node, int first) {
+            double logParent = Math.log(Math.max(1, visits.get(node)));
+            int best = first;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int c = first; c < first + childCount[node]; c++) {
+                int n = visits.get(c);
+                if (n == 0) return c;
+                double score = (double) wins.get(c) / n + EXPLORATION * Math.sqrt(logParent / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays random legal moves until the game ends.
+         */
+        private Color playout(int white, int black, Color side) {
+            for (int ply = 0; ply < MAX_GAME_PLIES; ply++) {
+                int own = side == Color.WHITE ? white : black;
+                int opp = side == Color.WHITE ? black : white;
+                int count = MoveGenerator.generate(own, opp, side, buffer, 0);
+                generations++;
+                int move = buffer[random.nextInt(count)];
+                if (side == Color.WHITE) {
+                    white = apply(white, move);
+                    black = capture(black, move);
+                } else {
+                    black = apply(black, move);
+                    white = capture(white, move);
+                }
+                Color winner = logic.winnerOf(white, black);
+                if (winner != null) return winner;
+                side = side.opposite();
+            }
+            // Unreachable with forward-only moves; score it for the side that moved last
+            return side;
+        }
+    }
+
+    private static int apply(int own, int move) {
+        return own ^ (1 << MoveGenerator.from(move)) ^ (1 << MoveGenerator.to(move));
+    }
+
+    private static int capture(int opp, int move) {
+        return MoveGenerator.isCapture(move) ? opp & ~(1 << MoveGenerator.captured(move)) : opp;
+    }
+}
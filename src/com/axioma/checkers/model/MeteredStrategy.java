@@ -0,0 +1,80 @@
+package com.axioma.checkers.model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Wraps a {@link ComputerStrategy} and records every decision into an {@link EngineMetrics}:
+ * wall time, move generator calls on the {@link GameService} passed in, bytes allocated by
+ * the calling thread and, for strategies implementing {@link SearchStatistics}, the search
+ * counters, whose generator calls are added to the first. Moves a strategy lists without
+ * either, as {@link AssignmentStrategy} does from the masks, are not counted; the count is
+ * exact when each deciding thread has its own {@link GameService}. Allocations of helper
+ * threads, as in {@link ParallelSearchStrategy}, are not seen.
+ *
+ * <p>Adds no state of its own, so it is as thread-safe as the wrapped strategy. Closing it
+ * closes the wrapped strategy if that holds threads, as {@link MctsStrategy} does.
+ */
+public final class MeteredStrategy implements ComputerStrategy, AutoCloseable {
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private final ComputerStrategy delegate;
+    private final EngineMetrics metrics;
+
+    public MeteredStrategy(ComputerStrategy delegate, EngineMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic) {
+        return chooseMoveSequence(board, logic, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic, long deadlineNanos) {
+        long allocatedBefore = allocatedBytes();
+        long generationsBefore = logic.getMoveGenerations();
+        long start = System.nanoTime();
+        List<Move> sequence = delegate.chooseMoveSequence(board, logic, deadlineNanos);
+        long nanos = System.nanoTime() - start;
+        long generations = logic.getMoveGenerations() - generationsBefore;
+        long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+        if (delegate instanceof SearchStatistics) {
+            SearchStatistics stats = (SearchStatistics) delegate;
+            metrics.record(nanos, stats.getLastNodes(), stats.getLastDepth(), stats.getLastTableProbes(),
+                    stats.getLastTableHits(), stats.getLastCutoffs(), stats.getLastFirstMoveCutoffs(),
+                    generations + stats.getLastMoveGenerations(), allocated);
+        } else {
+            metrics.record(nanos, 0, 0, 0, 0, 0, 0, generations, allocated);
+        }
+        return sequence;
+    }
+
+    public ComputerStrategy getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+            if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                return counter;
+            }
+        }
+        return null;
+    }
+}
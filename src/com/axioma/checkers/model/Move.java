@@ -1,7 +1,5 @@
 package com.axioma.checkers.model;
 
-import java.util.Objects;
-
 /**
  * Represents a single move from one square to another.
  */
@@ -43,7 +41,7 @@ public final class Move {
 
     @Override
     public int hashCode() {
-        return Objects.hash(fromRow, fromCol, toRow, toCol);
+        return ((fromRow * 31 + fromCol) * 31 + toRow) * 31 + toCol;
     }
 
     @Override
@@ -0,0 +1,197 @@
+package com.axioma.checkers.model;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free move generator for the forward-only variant.
+ * Works on the occupancy masks of a {@link Board} with shift-and-mask operations and
+ * writes packed {@code int} moves into a caller-supplied buffer.
+ *
+ * <p>Packed layout: bits 0-4 hold the from square, bits 5-9 the to square and bit 10
+ * is set for captures. Like {@link GameService#getLegalMoves}, captures are listed
+ * before quiet moves and are not forced.
+ */
+public final class MoveGenerator {
+    /** Upper bound on the moves of one side: two captures and two quiet moves per piece. */
+    public static final int MAX_MOVES = 4 * Squares.COUNT;
+
+    public static final int UP_LEFT = 0;
+    public static final int UP_RIGHT = 1;
+    public static final int DOWN_LEFT = 2;
+    public static final int DOWN_RIGHT = 3;
+
+    private static final int CAPTURE_FLAG = 1 << 10;
+    private static final int NONE = -1;
+
+    /** Square one step away, per direction and square, or {@code NONE} off the board. */
+    private static final byte[][] NEIGHBOR = new byte[4][Squares.COUNT];
+    /** Landing square of a jump, per direction and square, or {@code NONE} off the board. */
+    private static final byte[][] LANDING = new byte[4][Squares.COUNT];
+    /** Square jumped over between {@code from} and {@code to}, at {@code from * COUNT + to}. */
+    private static final byte[] JUMPED = new byte[Squares.COUNT * Squares.COUNT];
+
+    static {
+        Arrays.fill(JUMPED, (byte) NONE);
+        for (int dir = UP_LEFT; dir <= DOWN_RIGHT; dir++) {
+            for (int s = 0; s < Squares.COUNT; s++) {
+                int next = step(1 << s, dir);
+                int land = step(next, dir);
+                NEIGHBOR[dir][s] = (byte) (next == 0 ? NONE : Integer.numberOfTrailingZeros(next));
+                LANDING[dir][s] = (byte) (land == 0 ? NONE : Integer.numberOfTrailingZeros(land));
+                if (land != 0) JUMPED[s * Squares.COUNT + LANDING[dir][s]] = NEIGHBOR[dir][s];
+            }
+        }
+    }
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Packs a move between two square indices.
+     */
+    public static int encode(int from, int to, boolean capture) {
+        return from | (to << 5) | (capture ? CAPTURE_FLAG : 0);
+    }
+
+    public static int from(int move) {
+        return move & 31;
+    }
+
+    public static int to(int move) {
+        return (move >>> 5) & 31;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE_FLAG) != 0;
+    }
+
+    /**
+     * @return the square jumped over by a capture
+     */
+    public static int captured(int move) {
+        return JUMPED[(from(move) << 5) | to(move)];
+    }
+
+    /**
+     * Looks up the square one step from {@code square}. With {@code direction} taken from
+     * {@link #firstForward} plus 0 or 1 this is a forward neighbor of that color.
+     * @return the neighboring square, or -1 off the board
+     */
+    public static int neighbor(int square, int direction) {
+        return NEIGHBOR[direction][square];
+    }
+
+    /**
+     * @return the landing square of a jump from {@code square}, or -1 off the board; the
+     *         jumped square is {@link #neighbor} in the same direction
+     */
+    public static int landing(int square, int direction) {
+        return LANDING[direction][square];
+    }
+
+    /**
+     * Packs a {@link Move}; both endpoints must be dark squares.
+     */
+    public static int encode(Move move) {
+        return encode(Squares.index(move.getFromRow(), move.getFromCol()),
+                Squares.index(move.getToRow(), move.getToCol()), move.isCapture());
+    }
+
+    /**
+     * Unpacks a move into a {@link Move}.
+     */
+    public static Move toMove(int move) {
+        int from = from(move);
+        int to = to(move);
+        return new Move(Squares.row(from), Squares.col(from), Squares.row(to), Squares.col(to));
+    }
+
+    /**
+     * Rotates a packed move by 180 degrees, matching {@link Squares#mirror}.
+     */
+    public static int mirror(int move) {
+        return encode(Squares.COUNT - 1 - from(move), Squares.COUNT - 1 - to(move), isCapture(move));
+    }
+
+    /**
+     * Shifts every square of the mask one step in the given direction.
+     */
+    public static int step(int mask, int direction) {
+        switch (direction) {
+            case UP_LEFT: return Squares.upLeft(mask);
+            case UP_RIGHT: return Squares.upRight(mask);
+            case DOWN_LEFT: return Squares.downLeft(mask);
+            default: return Squares.downRight(mask);
+        }
+    }
+
+    /**
+     * @return the first of the two forward directions for the color
+     */
+    public static int firstForward(Color player) {
+        return player == Color.WHITE ? UP_LEFT : DOWN_LEFT;
+    }
+
+    /**
+     * Writes every legal move of {@code player} into {@code buffer} starting at {@code offset}.
+     * @return the number of moves written
+     */
+    public static int generate(int own, int opp, Color player, int[] buffer, int offset) {
+        int n = generateCaptures(own, opp, player, buffer, offset);
+        return n + generateQuiets(own, opp, player, buffer, offset + n);
+    }
+
+    /**
+     * Writes the captures of {@code player} into {@code buffer} starting at {@code offset}.
+     * @return the number of moves written
+     */
+    public static int generateCaptures(int own, int opp, Color player, int[] buffer, int offset) {
+        int empty = ~(own | opp);
+        int first = firstForward(player);
+        int n = offset;
+        for (int dir = first; dir <= first + 1; dir++) {
+            int back = dir ^ 3;
+            int land = step(step(own, dir) & opp, dir) & empty;
+            while (land != 0) {
+                int to = Integer.numberOfTrailingZeros(land);
+                land &= land - 1;
+                buffer[n++] = encode(LANDING[back][to], to, true);
+            }
+        }
+        return n - offset;
+    }
+
+    /**
+     * Writes the quiet moves of {@code player} into {@code buffer} starting at {@code offset}.
+     * @return the number of moves written
+     */
+    public static int generateQuiets(int own, int opp, Color player, int[] buffer, int offset) {
+        int empty = ~(own | opp);
+        int first = firstForward(player);
+        int n = offset;
+        for (int dir = first; dir <= first + 1; dir++) {
+            int back = dir ^ 3;
+            int targets = step(own, dir) & empty;
+            while (targets != 0) {
+                int to = Integer.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                buffer[n++] = encode(NEIGHBOR[back][to], to, false);
+            }
+        }
+        return n - offset;
+    }
+
+    /**
+     * @return true if {@code player} has at least one legal move
+     */
+    public static boolean hasMoves(int own, int opp, Color player) {
+        int empty = ~(own | opp);
+        int first = firstForward(player);
+        for (int dir = first; dir <= first + 1; dir++) {
+            int next = step(own, dir);
+            if ((next & empty) != 0) return true;
+            if ((step(next & opp, dir) & empty) != 0) return true;
+        }
+        return false;
+    }
+}
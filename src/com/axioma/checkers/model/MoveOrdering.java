@@ -0,0 +1,142 @@
+package com.axioma.checkers.model;
+
+import java.util.Arrays;
+
+/**
+ * Orders packed moves for an alpha-beta search so that the move most likely to cause a
+ * cutoff is tried first. In order of preference:
+ * <ol>
+ *   <li>moves onto the promotion rank, which win on the spot;</li>
+ *   <li>the move remembered by the transposition table;</li>
+ *   <li>captures;</li>
+ *   <li>advances to the rank before promotion with a free square ahead, threatening to win;</li>
+ *   <li>the two killer moves of the ply, quiet moves that recently cut off at that ply in a
+ *       sibling position;</li>
+ *   <li>the remaining quiet moves by butterfly history, a from-to table that rewards every
+ *       quiet cutoff by the square of its remaining depth.</li>
+ * </ol>
+ * Moves are sorted in place in the caller's buffer, so the search allocates nothing.
+ *
+ * <p>Instances hold per-search state and are not thread-safe; each search thread keeps its own.
+ */
+public final class MoveOrdering {
+    private static final int WIN = 1 << 30;
+    private static final int TABLE_MOVE = 1 << 29;
+    private static final int CAPTURE = 1 << 28;
+    private static final int THREAT = 1 << 27;
+    private static final int FIRST_KILLER = 1 << 26;
+    private static final int SECOND_KILLER = FIRST_KILLER - 1;
+
+    /** History scores are halved once any reaches this, keeping them below the killer scores. */
+    private static final int HISTORY_LIMIT = 1 << 24;
+
+    /** Rank a piece must reach, and the rank before it, per color. */
+    private static final int[] GOAL_RANK = new int[2];
+    private static final int[] THREAT_RANK = new int[2];
+
+    static {
+        for (int s = 0; s < Squares.COUNT; s++) {
+            int row = Squares.row(s);
+            if (row == 0) GOAL_RANK[Color.WHITE.ordinal()] |= 1 << s;
+            if (row == 1) THREAT_RANK[Color.WHITE.ordinal()] |= 1 << s;
+            if (row == Board.SIZE - 1) GOAL_RANK[Color.BLACK.ordinal()] |= 1 << s;
+            if (row == Board.SIZE - 2) THREAT_RANK[Color.BLACK.ordinal()] |= 1 << s;
+        }
+    }
+
+    private final int[][] killers;
+    private final int[] history = new int[Squares.COUNT * Squares.COUNT];
+    private final int[] scores = new int[MoveGenerator.MAX_MOVES];
+
+    /**
+     * @param maxPly number of plies with killer slots
+     */
+    public MoveOrdering(int maxPly) {
+        this.killers = new int[maxPly][2];
+    }
+
+    /**
+     * Forgets the killers and ages the history, keeping its shape for the next search.
+     */
+    public void newSearch() {
+        for (int[] slots : killers) Arrays.fill(slots, 0);
+        for (int i = 0; i < history.length; i++) history[i] >>= 2;
+    }
+
+    /**
+     * Sorts the first {@code count} moves of {@code moves}, played by {@code side} from the
+     * given masks, best first.
+     * @param tableMove move suggested by the transposition table, or 0
+     */
+    public void order(int[] moves, int count, int ply, int tableMove, int own, int opp, Color side) {
+        int goal = GOAL_RANK[side.ordinal()];
+        int threat = THREAT_RANK[side.ordinal()];
+        int first = MoveGenerator.firstForward(side);
+        int empty = ~(own | opp);
+        int killer0 = killers[ply][0];
+        int killer1 = killers[ply][1];
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int to = MoveGenerator.to(move);
+            int score;
+            if ((goal & (1 << to)) != 0) {
+                score = WIN;
+            } else if (move == tableMove) {
+                score = TABLE_MOVE;
+            } else if (MoveGenerator.isCapture(move)) {
+                score = CAPTURE;
+            } else if ((threat & (1 << to)) != 0 && isOpen(to, first, empty | (1 << MoveGenerator.from(move)))) {
+                score = THREAT;
+            } else if (move == killer0) {
+                score = FIRST_KILLER;
+            } else if (move == killer1) {
+                score = SECOND_KILLER;
+            } else {
+                score = history[MoveGenerator.from(move) * Squares.COUNT + to];
+            }
+            scores[i] = score;
+        }
+        // Insertion sort: lists are short and often nearly ordered already
+        for (int i = 1; i < count; i++) {
+            int move = moves[i];
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+
+    /**
+     * Records that {@code move} caused a beta cutoff at {@code ply} with {@code depth} plies
+     * left. Captures are ordered on their own and are not recorded.
+     */
+    public void cutoff(int move, int ply, int depth) {
+        if (MoveGenerator.isCapture(move)) return;
+        int[] slots = killers[ply];
+        if (slots[0] != move) {
+            slots[1] = slots[0];
+            slots[0] = move;
+        }
+        int index = MoveGenerator.from(move) * Squares.COUNT + MoveGenerator.to(move);
+        history[index] += depth * depth;
+        if (history[index] >= HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) history[i] >>= 1;
+        }
+    }
+
+    /**
+     * @return whether either forward square of {@code square} is in {@code empty}
+     */
+    private static boolean isOpen(int square, int first, int empty) {
+        for (int dir = first; dir <= first + 1; dir++) {
+            int next = MoveGenerator.neighbor(square, dir);
+            if (next >= 0 && (empty & (1 << next)) != 0) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.axioma.checkers.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Opening book of move statistics keyed by position. Every entry is seen from Black's side:
+ * a key is {@link Zobrist#withSide} of a position with Black to move, and White's moves are
+ * stored for the mirrored position (see {@link Squares#mirror}), so one table serves any
+ * strategy choosing for Black.
+ *
+ * <p>Entries are sorted by key and move. File layout: int magic, byte version, int entry
+ * count, then per entry long key, short packed move, int games and int wins.
+ */
+public final class OpeningBook {
+    static final int MAGIC = 0x434B4F42; // "CKOB"
+    static final byte VERSION = 1;
+
+    private final long[] keys;
+    private final short[] moves;
+    private final int[] games;
+    private final int[] wins;
+
+    private OpeningBook(long[] keys, short[] moves, int[] games, int[] wins) {
+        this.keys = keys;
+        this.moves = moves;
+        this.games = games;
+        this.wins = wins;
+    }
+
+    /**
+     * Builds a book from unsorted statistics; arrays are used up to {@code count}.
+     */
+    public static OpeningBook of(long[] keys, int[] moves, int[] games, int[] wins, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> keys[a] != keys[b] ? Long.compare(keys[a], keys[b]) : Integer.compare(moves[a], moves[b]));
+        long[] sortedKeys = new long[count];
+        short[] sortedMoves = new short[count];
+        int[] sortedGames = new int[count];
+        int[] sortedWins = new int[count];
+        for (int i = 0; i < count; i++) {
+            int j = order[i];
+            sortedKeys[i] = keys[j];
+            sortedMoves[i] = (short) moves[j];
+            sortedGames[i] = games[j];
+            sortedWins[i] = wins[j];
+        }
+        return new OpeningBook(sortedKeys, sortedMoves, sortedGames, sortedWins);
+    }
+
+    public static OpeningBook load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException(path + " is not an opening book file");
+            }
+            int count = in.readInt();
+            long[] keys = new long[count];
+            short[] moves = new short[count];
+            int[] games = new int[count];
+            int[] wins = new int[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = in.readLong();
+                moves[i] = in.readShort();
+                games[i] = in.readInt();
+                wins[i] = in.readInt();
+            }
+            return new OpeningBook(keys, moves, games, wins);
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                out.writeLong(keys[i]);
+                out.writeShort(moves[i]);
+                out.writeInt(games[i]);
+                out.writeInt(wins[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the number of (position, move) entries
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the move with the best smoothed win rate, {@code (wins + 1) / (games + 2)},
+     * among moves played at least {@code minGames} times from the position.
+     * @param key {@link Zobrist#withSide} of the position with Black to move
+     * @return the packed move, or 0 if the book has no such move
+     */
+    public int probe(long key, int minGames) {
+        int i = Arrays.binarySearch(keys, key);
+        if (i < 0) return 0;
+        while (i > 0 && keys[i - 1] == key) i--;
+        int best = 0;
+        double bestRate = -1;
+        for (; i < keys.length && keys[i] == key; i++) {
+            if (games[i] < minGames) continue;
+            double rate = (wins[i] + 1.0) / (games[i] + 2.0);
+            if (rate > bestRate) {
+                bestRate = rate;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,177 @@
+package com.axioma.checkers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lazy SMP search playing Black: one {@link SearchStrategy} per thread, all sharing a
+ * {@link TranspositionTable}. The calling thread runs the main search; helpers search the
+ * same root with varied move order and starting depth, filling the shared table, and are
+ * stopped as soon as the main search returns. The move of the deepest completed search
+ * is played, preferring the main search on ties.
+ *
+ * <p>Instances are not thread-safe; call {@link #close()} to release the helper threads.
+ */
+public final class ParallelSearchStrategy implements ComputerStrategy, SearchStatistics, AutoCloseable {
+    private final SearchStrategy[] workers;
+    private final TranspositionTable table;
+    private final ExecutorService helpers;
+    private final List<Future<Integer>> pending = new ArrayList<>();
+
+    private long lastNodes;
+    private long lastNanos;
+    private int lastDepth;
+
+    /**
+     * @param threads number of search threads including the caller, at least 1
+     * @param timeBudgetMillis wall-clock budget per move, or 0 for none
+     * @param nodeBudget node budget per move and thread, or 0 for none
+     * @param maxDepth deepest iteration to run, at most {@link SearchStrategy#MAX_PLY}
+     * @param tableMegabytes size of the shared transposition table
+     */
+    public ParallelSearchStrategy(int threads, long timeBudgetMillis, long nodeBudget, int maxDepth, int tableMegabytes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.table = new TranspositionTable(tableMegabytes);
+        this.workers = new SearchStrategy[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new SearchStrategy(timeBudgetMillis, nodeBudget, maxDepth, table);
+        }
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic) {
+        return chooseMoveSequence(board, logic, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic, long deadlineNanos) {
+        long start = System.nanoTime();
+        table.newSearch();
+        AtomicBoolean stop = new AtomicBoolean();
+        pending.clear();
+        for (int i = 1; i < workers.length; i++) {
+            SearchStrategy helper = workers[i];
+            int index = i;
+            pending.add(helpers.submit(() -> helper.searchRoot(board, logic, index, stop, deadlineNanos)));
+        }
+
+        int best = workers[0].searchRoot(board, logic, 0, stop, deadlineNanos);
+        stop.set(true);
+
+        int bestDepth = workers[0].getLastDepth();
+        long nodes = workers[0].getLastNodes();
+        for (int i = 1; i < workers.length; i++) {
+            int move = await(pending.get(i - 1));
+            SearchStrategy helper = workers[i];
+            nodes += helper.getLastNodes();
+            if (helper.getLastDepth() > bestDepth && move != 0) {
+                bestDepth = helper.getLastDepth();
+                best = move;
+            }
+        }
+        lastNodes = nodes;
+        lastDepth = bestDepth;
+        lastNanos = System.nanoTime() - start;
+
+        List<Move> result = new ArrayList<>();
+        if (best != 0) {
+            result.add(MoveGenerator.toMove(best));
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of search threads, including the caller
+     */
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * @return the nodes visited by all threads in the last search
+     */
+    @Override
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    /**
+     * @return the deepest iteration completed by any thread in the last search
+     */
+    @Override
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    @Override
+    public long getLastTableProbes() {
+        long total = 0;
+        for (SearchStrategy worker : workers) total += worker.getLastTableProbes();
+        return total;
+    }
+
+    @Override
+    public long getLastTableHits() {
+        long total = 0;
+        for (SearchStrategy worker : workers) total += worker.getLastTableHits();
+        return total;
+    }
+
+    @Override
+    public long getLastCutoffs() {
+        long total = 0;
+        for (SearchStrategy worker : workers) total += worker.getLastCutoffs();
+        return total;
+    }
+
+    @Override
+    public long getLastFirstMoveCutoffs() {
+        long total = 0;
+        for (SearchStrategy worker : workers) total += worker.getLastFirstMoveCutoffs();
+        return total;
+    }
+
+    @Override
+    public long getLastMoveGenerations() {
+        long total = 0;
+        for (SearchStrategy worker : workers) total += worker.getLastMoveGenerations();
+        return total;
+    }
+
+    /**
+     * @return nodes per second over all threads in the last search
+     */
+    public long getLastNodesPerSecond() {
+        return lastNanos == 0 ? 0 : lastNodes * 1_000_000_000L / lastNanos;
+    }
+
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    private static int await(Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("search helper failed", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.axioma.checkers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link SearchStrategy} that keeps searching on the opponent's time. After the computer's
+ * move is applied, {@link #ponder} starts a background thread that walks White's replies,
+ * the one the last search predicted first and then the rest in {@link MoveOrdering} order,
+ * and searches Black's answer to each with the normal budget, remembering the results.
+ *
+ * <p>When the human's move arrives, {@link #chooseMoveSequence} answers at once if that reply
+ * was already pondered, waits for the rest of its search if it is the one being pondered,
+ * and otherwise stops pondering and searches as usual. The transposition table is shared
+ * between pondering and normal searches, so even a miss starts from a warm table.
+ *
+ * <p>Pondering and searching never overlap: the search instance is handed from the ponder
+ * thread back to the caller only after the ponder task has finished. Call {@link #close()}
+ * to release the ponder thread. Not thread-safe otherwise.
+ */
+public final class PonderingStrategy implements ComputerStrategy, SearchStatistics, AutoCloseable {
+    private final SearchStrategy search;
+    private final TranspositionTable table;
+    private final GameService ponderLogic = new GameService();
+    private final MoveOrdering ordering = new MoveOrdering(1);
+    private final int[] replies = new int[MoveGenerator.MAX_MOVES];
+    private final ExecutorService thread;
+    /** Black's answer to each pondered reply, by the key of the position with Black to move. */
+    private final Map<Long, Integer> answers = new ConcurrentHashMap<>();
+
+    private AtomicBoolean stop;
+    private Future<?> task;
+    /** Key of the position being pondered, or 0; guarded by {@code this}. */
+    private long pondering;
+    private boolean lastFromPonder;
+    private long hits;
+    private long waits;
+    private long misses;
+
+    /**
+     * @param timeBudgetMillis budget of a normal search, and of each pondered reply
+     * @param tableMegabytes size of the transposition table
+     */
+    public PonderingStrategy(long timeBudgetMillis, int tableMegabytes) {
+        if (timeBudgetMillis < 1) throw new IllegalArgumentException("timeBudgetMillis must be positive");
+        this.table = new TranspositionTable(tableMegabytes);
+        this.search = new SearchStrategy(timeBudgetMillis, 0, SearchStrategy.MAX_PLY, table);
+        this.thread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread ponder = new Thread(runnable, "ponder");
+            ponder.setDaemon(true);
+            return ponder;
+        });
+    }
+
+    /**
+     * Starts pondering {@code board}, with White to move, in the background. Any earlier
+     * pondering is stopped first.
+     */
+    public void ponder(Board board) {
+        stopPondering();
+        answers.clear();
+        Board position = new Board(board);
+        AtomicBoolean flag = new AtomicBoolean();
+        stop = flag;
+        task = thread.submit(() -> ponderReplies(position, flag));
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic) {
+        long key = Zobrist.withSide(board.getKey(), Color.BLACK);
+        if (task != null) awaitPondering(key);
+        Integer answer = answers.get(key);
+        stopPondering();
+        int best;
+        if (answer != null && logic.isLegalMove(board, MoveGenerator.toMove(answer), Color.BLACK)) {
+            lastFromPonder = true;
+            best = answer;
+        } else {
+            lastFromPonder = false;
+            misses++;
+            table.newSearch();
+            best = search.searchRoot(board, logic, 0, null);
+        }
+        List<Move> result = new ArrayList<>();
+        if (best != 0) {
+            result.add(MoveGenerator.toMove(best));
+        }
+        return result;
+    }
+
+    /**
+     * @return decisions answered straight from a finished pondered search
+     */
+    public long getPonderHits() {
+        return hits;
+    }
+
+    /**
+     * @return decisions that waited for the pondered search of the actual reply to finish
+     */
+    public long getPonderWaits() {
+        return waits;
+    }
+
+    /**
+     * @return decisions searched from scratch because the reply was not pondered in time
+     */
+    public long getPonderMisses() {
+        return misses;
+    }
+
+    @Override
+    public long getLastNodes() {
+        return lastFromPonder ? 0 : search.getLastNodes();
+    }
+
+    @Override
+    public int getLastDepth() {
+        return lastFromPonder ? 0 : search.getLastDepth();
+    }
+
+    @Override
+    public long getLastTableProbes() {
+        return lastFromPonder ? 0 : search.getLastTableProbes();
+    }
+
+    @Override
+    public long getLastTableHits() {
+        return lastFromPonder ? 0 : search.getLastTableHits();
+    }
+
+    @Override
+    public long getLastCutoffs() {
+        return lastFromPonder ? 0 : search.getLastCutoffs();
+    }
+
+    @Override
+    public long getLastFirstMoveCutoffs() {
+        return lastFromPonder ? 0 : search.getLastFirstMoveCutoffs();
+    }
+
+    @Override
+    public long getLastMoveGenerations() {
+        return lastFromPonder ? 0 : search.getLastMoveGenerations();
+    }
+
+    @Override
+    public void close() {
+        stopPondering();
+        thread.shutdownNow();
+    }
+
+    /**
+     * Runs on the ponder thread: searches Black's answer to every reply of White until
+     * stopped or done.
+     */
+    private void ponderReplies(Board position, AtomicBoolean stop) {
+        int white = position.getWhiteMask();
+        int black = position.getBlackMask();
+        long entry = table.probe(Zobrist.withSide(position.getKey(), Color.WHITE));
+        int predicted = entry == 0 ? 0 : TranspositionTable.move(entry);
+        int count = MoveGenerator.generate(white, black, Color.WHITE, replies, 0);
+        ordering.order(replies, count, 0, predicted, white, black, Color.WHITE);
+        table.newSearch();
+        Board child = new Board();
+        for (int i = 0; i < count && !stop.get(); i++) {
+            child.setMasks(white, black);
+            ponderLogic.makeMove(child, replies[i]);
+            if (ponderLogic.winnerOf(child.getWhiteMask(), child.getBlackMask()) != null) continue;
+            long key = Zobrist.withSide(child.getKey(), Color.BLACK);
+            synchronized (this) {
+                pondering = key;
+            }
+            int best = search.searchRoot(child, ponderLogic, 0, stop);
+            synchronized (this) {
+                if (!stop.get() && best != 0) answers.put(key, best);
+                pondering = 0;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Counts a hit if {@code key} was pondered already, or waits while the ponder thread is
+     * searching it; a search of another reply is left to be stopped by the caller.
+     */
+    private synchronized void awaitPondering(long key) {
+        if (answers.containsKey(key)) {
+            hits++;
+            return;
+        }
+        while (pondering == key && !answers.containsKey(key)) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (answers.containsKey(key)) waits++;
+    }
+
+    private void stopPondering() {
+        if (task == null) return;
+        stop.set(true);
+        try {
+            task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Pondering failed", ex.getCause());
+        }
+        task = null;
+        stop = null;
+    }
+}
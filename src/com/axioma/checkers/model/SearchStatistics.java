@@ -0,0 +1,43 @@
+package com.axioma.checkers.model;
+
+/**
+ * Counters of the last move decision of a searching {@link ComputerStrategy}, read by
+ * {@link MeteredStrategy}.
+ */
+public interface SearchStatistics {
+    /**
+     * @return the nodes visited by the last search
+     */
+    long getLastNodes();
+
+    /**
+     * @return the deepest fully completed iteration of the last search
+     */
+    int getLastDepth();
+
+    /**
+     * @return transposition table lookups in the last search
+     */
+    long getLastTableProbes();
+
+    /**
+     * @return lookups that found an entry for the position
+     */
+    long getLastTableHits();
+
+    /**
+     * @return nodes that failed high (beta cutoffs)
+     */
+    long getLastCutoffs();
+
+    /**
+     * @return beta cutoffs produced by the first move searched; close to
+     *         {@link #getLastCutoffs()} when move ordering is good
+     */
+    long getLastFirstMoveCutoffs();
+
+    /**
+     * @return move generator calls in the last search
+     */
+    long getLastMoveGenerations();
+}
@@ -0,0 +1,352 @@
+package com.axioma.checkers.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Negamax alpha-beta strategy with iterative deepening, playing Black.
+ * Each ply is a single move from {@link MoveGenerator}, the same unit the controller
+ * applies for the human. Searching stops at the time or node budget, whichever comes
+ * first, and the best move of the last completed iteration is played. Positions are
+ * keyed incrementally with {@link Zobrist} and cached in a {@link TranspositionTable},
+ * which may be shared between searches; leaves are scored by an {@link Evaluator} whose
+ * material part is carried down the tree incrementally alongside the key. Moves are tried
+ * in {@link MoveOrdering} order away from the frontier, with killer and history state kept
+ * across iterations.
+ *
+ * <p>Instances keep preallocated per-ply buffers and are not thread-safe.
+ */
+public final class SearchStrategy implements ComputerStrategy, SearchStatistics {
+    public static final int MAX_PLY = 128;
+    public static final int WIN_SCORE = 1_000_000;
+
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int LIMIT_CHECK_INTERVAL = 1024;
+    private static final int DEFAULT_TABLE_MEGABYTES = 16;
+    /** Nodes with at most this many plies left only try the table move first. */
+    private static final int ORDERING_MIN_DEPTH = 2;
+
+    private final long timeBudgetNanos;
+    private final long nodeBudget;
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final Evaluator evaluator;
+    private final int[][] moveBuffers = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+    private final MoveOrdering ordering = new MoveOrdering(MAX_PLY);
+
+    private GameService logic;
+    private AtomicBoolean stop;
+    private long deadline;
+    private long nodes;
+    private long tableProbes;
+    private long tableHits;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private long moveGenerations;
+    private boolean aborted;
+    private int lastDepth;
+    private int lastScore;
+    private long lastNodes;
+
+    /**
+     * Creates a strategy with a 50 ms budget per move.
+     */
+    public SearchStrategy() {
+        this(50, 0, MAX_PLY);
+    }
+
+    /**
+     * @param timeBudgetMillis wall-clock budget per move, or 0 for none
+     * @param nodeBudget node budget per move, or 0 for none
+     * @param maxDepth deepest iteration to run, at most {@link #MAX_PLY}
+     */
+    public SearchStrategy(long timeBudgetMillis, long nodeBudget, int maxDepth) {
+        this(timeBudgetMillis, nodeBudget, maxDepth, new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param timeBudgetMillis wall-clock budget per move, or 0 for none
+     * @param nodeBudget node budget per move, or 0 for none
+     * @param maxDepth deepest iteration to run, at most {@link #MAX_PLY}
+     * @param table transposition table, possibly shared with other searches
+     */
+    public SearchStrategy(long timeBudgetMillis, long nodeBudget, int maxDepth, TranspositionTable table) {
+        this(timeBudgetMillis, nodeBudget, maxDepth, table, new Evaluator(EvaluationWeights.defaults()));
+    }
+
+    /**
+     * @param timeBudgetMillis wall-clock budget per move, or 0 for none
+     * @param nodeBudget node budget per move, or 0 for none
+     * @param maxDepth deepest iteration to run, at most {@link #MAX_PLY}
+     * @param table transposition table, possibly shared with other searches
+     * @param evaluator static evaluation at the leaves
+     */
+    public SearchStrategy(long timeBudgetMillis, long nodeBudget, int maxDepth, TranspositionTable table,
+                          Evaluator evaluator) {
+        if (timeBudgetMillis < 0 || nodeBudget < 0) {
+            throw new IllegalArgumentException("budgets cannot be negative");
+        }
+        if (maxDepth < 1 || maxDepth > MAX_PLY) {
+            throw new IllegalArgumentException("maxDepth must be between 1 and " + MAX_PLY);
+        }
+        if (timeBudgetMillis == 0 && nodeBudget == 0 && maxDepth == MAX_PLY) {
+            throw new IllegalArgumentException("an unbounded search needs a time, node or depth limit");
+        }
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.nodeBudget = nodeBudget;
+        this.maxDepth = maxDepth;
+        this.table = table;
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic) {
+        return chooseMoveSequence(board, logic, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic, long deadlineNanos) {
+        table.newSearch();
+        int best = searchRoot(board, logic, 0, null, deadlineNanos);
+        List<Move> result = new ArrayList<>();
+        if (best != 0) {
+            result.add(MoveGenerator.toMove(best));
+        }
+        return result;
+    }
+
+    @Override
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * @return the score of the last search from Black's point of view
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    @Override
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    @Override
+    public long getLastTableProbes() {
+        return tableProbes;
+    }
+
+    @Override
+    public long getLastTableHits() {
+        return tableHits;
+    }
+
+    @Override
+    public long getLastCutoffs() {
+        return cutoffs;
+    }
+
+    @Override
+    public long getLastFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    @Override
+    public long getLastMoveGenerations() {
+        return moveGenerations;
+    }
+
+    /**
+     * Runs iterative deepening for Black on {@code board}. Helpers of a parallel search pass
+     * a non-zero {@code helper} index, which varies the root order and starting depth, and a
+     * shared {@code stop} flag that ends the search early when set.
+     * @return the best packed move, or 0 if Black has no legal move
+     */
+    int searchRoot(Board board, GameService logic, int helper, AtomicBoolean stop) {
+        return searchRoot(board, logic, helper, stop, Long.MAX_VALUE);
+    }
+
+    /**
+     * As {@link #searchRoot(Board, GameService, int, AtomicBoolean)}, stopping by
+     * {@code deadlineNanos} if that comes before the time budget runs out.
+     */
+    int searchRoot(Board board, GameService logic, int helper, AtomicBoolean stop, long deadlineNanos) {
+        int own = board.getBlackMask();
+        int opp = board.getWhiteMask();
+        long key = Zobrist.withSide(board.getKey(), Color.BLACK);
+        int material = evaluator.material(opp, own);
+        this.logic = logic;
+        this.stop = stop;
+        this.deadline = Math.min(deadlineNanos,
+                timeBudgetNanos == 0 ? Long.MAX_VALUE : System.nanoTime() + timeBudgetNanos);
+        this.nodes = 0;
+        this.tableProbes = 0;
+        this.tableHits = 0;
+        this.cutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.moveGenerations = 0;
+        this.aborted = false;
+        this.lastDepth = 0;
+        this.lastScore = 0;
+        ordering.newSearch();
+
+        int[] moves = moveBuffers[0];
+        int count = MoveGenerator.generate(own, opp, Color.BLACK, moves, 0);
+        moveGenerations++;
+        ordering.order(moves, count, 0, 0, own, opp, Color.BLACK);
+        if (helper > 0 && count > 1) rotate(moves, count, helper % count);
+        int best = count > 0 ? moves[0] : 0;
+
+        for (int depth = 1 + (helper & 1); depth <= maxDepth && count > 0; depth++) {
+            int alpha = -INFINITY;
+            int iterationBest = moves[0];
+            for (int i = 0; i < count; i++) {
+                int score = -child(own, opp, key, material, Color.BLACK, moves[i], depth, 0, -INFINITY, -alpha);
+                if (aborted) break;
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = moves[i];
+                }
+            }
+            if (aborted) break;
+            best = iterationBest;
+            lastDepth = depth;
+            lastScore = alpha;
+            moveToFront(moves, count, best);
+            if (alpha >= WIN_SCORE - MAX_PLY || alpha <= -(WIN_SCORE - MAX_PLY)) break;
+        }
+        lastNodes = nodes;
+        this.logic = null;
+        this.stop = null;
+        return best;
+    }
+
+    /**
+     * Plays {@code move} for {@code side} and scores the resulting position from the
+     * opponent's point of view.
+     */
+    private int child(int own, int opp, long key, int material, Color side, int move, int depth, int ply,
+                      int alpha, int beta) {
+        material = evaluator.update(material, side, move);
+        int from = MoveGenerator.from(move);
+        int to = MoveGenerator.to(move);
+        own ^= (1 << from) | (1 << to);
+        key ^= Zobrist.piece(side, from) ^ Zobrist.piece(side, to) ^ Zobrist.BLACK_TO_MOVE;
+        if (MoveGenerator.isCapture(move)) {
+            int captured = MoveGenerator.captured(move);
+            opp &= ~(1 << captured);
+            key ^= Zobrist.piece(side.opposite(), captured);
+        }
+        Color winner = side == Color.WHITE ? logic.winnerOf(own, opp) : logic.winnerOf(opp, own);
+        if (winner != null) {
+            int mate = WIN_SCORE - ply - 1;
+            return winner == side ? -mate : mate;
+        }
+        return search(opp, own, key, material, side.opposite(), depth - 1, ply + 1, alpha, beta);
+    }
+
+    /**
+     * @param material incremental part of the evaluation, see {@link Evaluator#update}
+     */
+    private int search(int own, int opp, long key, int material, Color side, int depth, int ply, int alpha, int beta) {
+        if ((++nodes & (LIMIT_CHECK_INTERVAL - 1)) == 0) checkLimits();
+        if (nodeBudget != 0 && nodes >= nodeBudget) aborted = true;
+        if (aborted) return 0;
+        if (depth == 0 || ply >= MAX_PLY - 1) {
+            int white = side == Color.WHITE ? own : opp;
+            int black = side == Color.WHITE ? opp : own;
+            return evaluator.evaluate(white, black, material, side);
+        }
+
+        int ttMove = 0;
+        long entry = table.probe(key);
+        tableProbes++;
+        if (entry != 0) {
+            tableHits++;
+            ttMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] moves = moveBuffers[ply];
+        int count = MoveGenerator.generate(own, opp, side, moves, 0);
+        moveGenerations++;
+        // Close to the frontier the subtrees are too small to repay scoring every move
+        boolean ordered = depth > ORDERING_MIN_DEPTH;
+        if (ordered) {
+            ordering.order(moves, count, ply, ttMove, own, opp, side);
+        } else if (ttMove != 0) {
+            moveToFront(moves, count, ttMove);
+        }
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int score = -child(own, opp, key, material, side, move, depth, ply, -beta, -alpha);
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        cutoffs++;
+                        if (i == 0) firstMoveCutoffs++;
+                        ordering.cutoff(move, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Win scores are stored relative to the node so they stay valid at other plies.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) return score + ply;
+        if (score <= -(WIN_SCORE - MAX_PLY)) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) return score - ply;
+        if (score <= -(WIN_SCORE - MAX_PLY)) return score + ply;
+        return score;
+    }
+
+    private void checkLimits() {
+        if (System.nanoTime() >= deadline || (stop != null && stop.get())) aborted = true;
+    }
+
+    private static void rotate(int[] moves, int count, int by) {
+        int[] head = Arrays.copyOf(moves, by);
+        System.arraycopy(moves, by, moves, 0, count - by);
+        System.arraycopy(head, 0, moves, count - by, by);
+    }
+
+    private static void moveToFront(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+}
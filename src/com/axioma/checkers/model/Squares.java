@@ -0,0 +1,89 @@
+package com.axioma.checkers.model;
+
+/**
+ * Index math and mask helpers for the 32 dark squares of the board.
+ * Square {@code s} maps to bit {@code s} of a 32-bit mask, numbered row by row
+ * from the top (row 0, Black's back rank) with four dark squares per row.
+ */
+public final class Squares {
+    public static final int COUNT = 32;
+
+    /** Mask with every dark square set. */
+    public static final int ALL = 0xFFFFFFFF;
+
+    static final int EVEN_ROWS = 0x0F0F0F0F;
+    static final int ODD_ROWS = 0xF0F0F0F0;
+    static final int FIRST_IN_ROW = 0x11111111;
+    static final int LAST_IN_ROW = 0x88888888;
+    static final int TOP_ROW = 0x0000000F;
+    static final int BOTTOM_ROW = 0xF0000000;
+
+    private Squares() {
+    }
+
+    /**
+     * @return true if (row, col) is a playable dark square
+     */
+    public static boolean isDark(int row, int col) {
+        return ((row + col) & 1) == 1;
+    }
+
+    /**
+     * Returns the square index of a dark (row, col) cell. The cell must be dark and inside.
+     */
+    public static int index(int row, int col) {
+        return (row << 2) | (col >> 1);
+    }
+
+    public static int row(int square) {
+        return square >> 2;
+    }
+
+    public static int col(int square) {
+        int row = square >> 2;
+        return ((square & 3) << 1) | ((row & 1) ^ 1);
+    }
+
+    /**
+     * @return the mask of the four dark squares on the given row
+     */
+    public static int rowMask(int row) {
+        return 0xF << (row << 2);
+    }
+
+    /**
+     * Rotates a mask by 180 degrees: square {@code s} maps to {@code 31 - s}. Combined with
+     * swapping the colors this turns a position for White into the same position for Black.
+     */
+    public static int mirror(int mask) {
+        return Integer.reverse(mask);
+    }
+
+    /**
+     * Shifts every square one step towards row 0 and column 0; squares leaving the board drop out.
+     */
+    public static int upLeft(int mask) {
+        return ((mask & EVEN_ROWS & ~TOP_ROW) >>> 4) | ((mask & ODD_ROWS & ~FIRST_IN_ROW) >>> 5);
+    }
+
+    /**
+     * Shifts every square one step towards row 0 and the last column.
+     */
+    public static int upRight(int mask) {
+        return ((mask & EVEN_ROWS & ~TOP_ROW & ~LAST_IN_ROW) >>> 3) | ((mask & ODD_ROWS) >>> 4);
+    }
+
+    /**
+     * Shifts every square one step towards the last row and column 0.
+     */
+    public static int downLeft(int mask) {
+        return ((mask & EVEN_ROWS) << 4) | ((mask & ODD_ROWS & ~BOTTOM_ROW & ~FIRST_IN_ROW) << 3);
+    }
+
+    /**
+     * Shifts every square one step towards the last row and the last column.
+     */
+    public static int downRight(int mask) {
+        return ((mask & EVEN_ROWS & ~LAST_IN_ROW) << 5) | ((mask & ODD_ROWS & ~BOTTOM_ROW) << 4);
+    }
+}
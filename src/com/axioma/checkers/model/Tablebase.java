@@ -0,0 +1,176 @@
+package com.axioma.checkers.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Endgame tablebase for positions with 1 to {@link #getMaxPieces()} pieces per side.
+ *
+ * <p>Each (white count, black count) configuration has one byte per position, addressed by
+ * a combinatorial index: the rank of the white mask among all masks with that many bits,
+ * then the rank of the black mask over the squares left free by White, then the side to
+ * move. A positive byte {@code n} means the side to move wins in {@code n} plies, a negative
+ * one that it loses in {@code -n} plies, and 0 marks a position where the game is already over.
+ *
+ * <p>File layout: int magic, byte version, byte max pieces, then every configuration in
+ * order of white count, then black count.
+ */
+public final class Tablebase {
+    /** Largest supported pieces per side; the 4+4 table alone would exceed 1 GB. */
+    public static final int MAX_SUPPORTED_PIECES = 3;
+
+    static final int MAGIC = 0x434B5442; // "CKTB"
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 6;
+
+    private static final int[][] BINOMIAL = new int[Squares.COUNT + 1][Squares.COUNT + 1];
+
+    static {
+        for (int n = 0; n <= Squares.COUNT; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + (k <= n - 1 ? BINOMIAL[n - 1][k] : 0);
+            }
+        }
+    }
+
+    private final int maxPieces;
+    private final ByteBuffer[][] tables;
+
+    Tablebase(int maxPieces, ByteBuffer[][] tables) {
+        this.maxPieces = maxPieces;
+        this.tables = tables;
+    }
+
+    /**
+     * Memory-maps a tablebase file written by {@link #write}.
+     */
+    public static Tablebase load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC || header.get(4) != VERSION) {
+                throw new IOException(path + " is not a tablebase file");
+            }
+            int maxPieces = header.get(5);
+            if (maxPieces < 1 || maxPieces > MAX_SUPPORTED_PIECES) {
+                throw new IOException("Unsupported tablebase size " + maxPieces);
+            }
+            ByteBuffer[][] tables = new ByteBuffer[maxPieces + 1][maxPieces + 1];
+            long offset = HEADER_BYTES;
+            for (int nw = 1; nw <= maxPieces; nw++) {
+                for (int nb = 1; nb <= maxPieces; nb++) {
+                    int size = configSize(nw, nb);
+                    if (offset + size > channel.size()) {
+                        throw new IOException("Truncated tablebase " + path);
+                    }
+                    tables[nw][nb] = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+                    offset += size;
+                }
+            }
+            return new Tablebase(maxPieces, tables);
+        }
+    }
+
+    /**
+     * Writes the tablebase in the layout read by {@link #load}.
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).put(VERSION).put((byte) maxPieces).flip();
+            writeFully(channel, header);
+            for (int nw = 1; nw <= maxPieces; nw++) {
+                for (int nb = 1; nb <= maxPieces; nb++) {
+                    writeFully(channel, tables[nw][nb].duplicate().clear());
+                }
+            }
+        }
+    }
+
+    public int getMaxPieces() {
+        return maxPieces;
+    }
+
+    /**
+     * @return true if both sides have between 1 and {@link #getMaxPieces()} pieces
+     */
+    public boolean covers(int white, int black) {
+        int nw = Integer.bitCount(white);
+        int nb = Integer.bitCount(black);
+        return nw >= 1 && nw <= maxPieces && nb >= 1 && nb <= maxPieces;
+    }
+
+    /**
+     * @return plies to a win (positive) or loss (negative) for the side to move, or 0 if the
+     *         position is not covered or the game is already over
+     */
+    public int probe(int white, int black, Color toMove) {
+        if (!covers(white, black)) return 0;
+        return tables[Integer.bitCount(white)][Integer.bitCount(black)].get(index(white, black, toMove));
+    }
+
+    /**
+     * @return the number of entries of one (white count, black count) configuration
+     */
+    static int configSize(int whiteCount, int blackCount) {
+        return 2 * BINOMIAL[Squares.COUNT][whiteCount] * BINOMIAL[Squares.COUNT - whiteCount][blackCount];
+    }
+
+    static int index(int white, int black, Color toMove) {
+        int nb = Integer.bitCount(black);
+        int blackRank = rank(compress(black, ~white));
+        int whiteRank = rank(white);
+        int index = whiteRank * BINOMIAL[Squares.COUNT - Integer.bitCount(white)][nb] + blackRank;
+        return 2 * index + (toMove == Color.WHITE ? 0 : 1);
+    }
+
+    /**
+     * Rank of a mask among all masks with the same number of bits (combinatorial number system).
+     */
+    static int rank(int mask) {
+        int rank = 0;
+        int k = 1;
+        for (int m = mask; m != 0; m &= m - 1, k++) {
+            rank += BINOMIAL[Integer.numberOfTrailingZeros(m)][k];
+        }
+        return rank;
+    }
+
+    /**
+     * Packs the bits of {@code mask} that lie in {@code allowed} into the low bits.
+     */
+    static int compress(int mask, int allowed) {
+        int result = 0;
+        int bit = 0;
+        for (int a = allowed; a != 0; a &= a - 1, bit++) {
+            if ((mask & a & -a) != 0) result |= 1 << bit;
+        }
+        return result;
+    }
+
+    /**
+     * Spreads the low bits of {@code packed} over the set bits of {@code allowed}.
+     */
+    static int expand(int packed, int allowed) {
+        int result = 0;
+        int bit = 0;
+        for (int a = allowed; a != 0; a &= a - 1, bit++) {
+            if ((packed & (1 << bit)) != 0) result |= a & -a;
+        }
+        return result;
+    }
+
+    ByteBuffer table(int whiteCount, int blackCount) {
+        return tables[whiteCount][blackCount];
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
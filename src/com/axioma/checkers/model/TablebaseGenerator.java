@@ -0,0 +1,117 @@
+package com.axioma.checkers.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Builds a {@link Tablebase} by backward induction. Pieces only move forward, so the move
+ * graph is acyclic: every position is solved after all of its successors, with a memoized
+ * depth-first walk standing in for the retrograde sweep. There are no draws in this variant.
+ */
+public final class TablebaseGenerator {
+    private final GameService logic = new GameService();
+    private final int[][] buffers = new int[SearchStrategy.MAX_PLY][MoveGenerator.MAX_MOVES];
+    private final int maxPieces;
+    private final byte[][][] values;
+
+    /**
+     * @param maxPieces pieces per side, from 1 to {@link Tablebase#MAX_SUPPORTED_PIECES}
+     */
+    public TablebaseGenerator(int maxPieces) {
+        if (maxPieces < 1 || maxPieces > Tablebase.MAX_SUPPORTED_PIECES) {
+            throw new IllegalArgumentException("maxPieces must be between 1 and " + Tablebase.MAX_SUPPORTED_PIECES);
+        }
+        this.maxPieces = maxPieces;
+        this.values = new byte[maxPieces + 1][maxPieces + 1][];
+    }
+
+    /**
+     * Solves every covered position.
+     */
+    public Tablebase build() {
+        ByteBuffer[][] tables = new ByteBuffer[maxPieces + 1][maxPieces + 1];
+        for (int nw = 1; nw <= maxPieces; nw++) {
+            for (int nb = 1; nb <= maxPieces; nb++) {
+                values[nw][nb] = new byte[Tablebase.configSize(nw, nb)];
+                tables[nw][nb] = ByteBuffer.wrap(values[nw][nb]);
+            }
+        }
+        for (int nw = 1; nw <= maxPieces; nw++) {
+            for (int nb = 1; nb <= maxPieces; nb++) {
+                solveConfiguration(nw, nb);
+            }
+        }
+        return new Tablebase(maxPieces, tables);
+    }
+
+    private void solveConfiguration(int whiteCount, int blackCount) {
+        // Gosper's hack walks every mask with the given number of bits in increasing order
+        for (long w = (1L << whiteCount) - 1; w < (1L << Squares.COUNT); w = nextCombination(w)) {
+            int white = (int) w;
+            int free = ~white;
+            for (long b = (1L << blackCount) - 1; b < (1L << (Squares.COUNT - whiteCount)); b = nextCombination(b)) {
+                int black = Tablebase.expand((int) b, free);
+                if (logic.winnerOf(white, black) != null) continue;
+                solve(white, black, Color.WHITE, 0);
+                solve(white, black, Color.BLACK, 0);
+            }
+        }
+    }
+
+    /**
+     * @return plies to a win (positive) or loss (negative) for {@code side}; the game must not be over
+     */
+    private int solve(int white, int black, Color side, int ply) {
+        byte[] table = values[Integer.bitCount(white)][Integer.bitCount(black)];
+        int index = Tablebase.index(white, black, side);
+        if (table[index] != 0) return table[index];
+
+        int own = side == Color.WHITE ? white : black;
+        int opp = side == Color.WHITE ? black : white;
+        int[] moves = buffers[ply];
+        int count = MoveGenerator.generate(own, opp, side, moves, 0);
+        int best = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int childOwn = own ^ (1 << MoveGenerator.from(move)) ^ (1 << MoveGenerator.to(move));
+            int childOpp = MoveGenerator.isCapture(move) ? opp & ~(1 << MoveGenerator.captured(move)) : opp;
+            int childWhite = side == Color.WHITE ? childOwn : childOpp;
+            int childBlack = side == Color.WHITE ? childOpp : childOwn;
+            int value = valueAfter(logic, childWhite, childBlack, side, solveChild(childWhite, childBlack, side, ply));
+            if (best == 0 || isBetter(value, best)) best = value;
+        }
+        if (best > Byte.MAX_VALUE || best < -Byte.MAX_VALUE) {
+            throw new IllegalStateException("distance does not fit in a byte: " + best);
+        }
+        table[index] = (byte) best;
+        return best;
+    }
+
+    private int solveChild(int white, int black, Color mover, int ply) {
+        if (logic.winnerOf(white, black) != null) return 0;
+        return solve(white, black, mover.opposite(), ply + 1);
+    }
+
+    /**
+     * Converts the opponent's result after {@code mover}'s move into the mover's result.
+     * @param childValue the opponent's value, or 0 if the move ended the game
+     */
+    static int valueAfter(GameService logic, int white, int black, Color mover, int childValue) {
+        if (childValue == 0) {
+            return logic.winnerOf(white, black) == mover ? 1 : -1;
+        }
+        return childValue < 0 ? 1 - childValue : -(childValue + 1);
+    }
+
+    /**
+     * Faster wins beat slower wins, which beat any loss; slower losses beat faster ones.
+     */
+    static boolean isBetter(int value, int current) {
+        if ((value > 0) != (current > 0)) return value > 0;
+        return value < current;
+    }
+
+    private static long nextCombination(long v) {
+        long t = v | (v - 1);
+        return (t + 1) | (((~t & -~t) - 1) >>> (Long.numberOfTrailingZeros(v) + 1));
+    }
+}
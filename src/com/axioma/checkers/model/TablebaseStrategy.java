@@ -0,0 +1,52 @@
+package com.axioma.checkers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays Black perfectly from {@link Tablebase} positions and hands every other position
+ * to a fallback strategy. A covered position costs one probe per legal move.
+ */
+public final class TablebaseStrategy implements ComputerStrategy {
+    private final Tablebase tablebase;
+    private final ComputerStrategy fallback;
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+    public TablebaseStrategy(Tablebase tablebase, ComputerStrategy fallback) {
+        this.tablebase = tablebase;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic) {
+        return chooseMoveSequence(board, logic, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<Move> chooseMoveSequence(Board board, GameService logic, long deadlineNanos) {
+        int white = board.getWhiteMask();
+        int black = board.getBlackMask();
+        if (!tablebase.covers(white, black)) {
+            return fallback.chooseMoveSequence(board, logic, deadlineNanos);
+        }
+        int count = MoveGenerator.generate(black, white, Color.BLACK, moves, 0);
+        int best = 0;
+        int bestValue = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int childBlack = black ^ (1 << MoveGenerator.from(move)) ^ (1 << MoveGenerator.to(move));
+            int childWhite = MoveGenerator.isCapture(move) ? white & ~(1 << MoveGenerator.captured(move)) : white;
+            int childValue = logic.winnerOf(childWhite, childBlack) != null ? 0 : tablebase.probe(childWhite, childBlack, Color.WHITE);
+            int value = TablebaseGenerator.valueAfter(logic, childWhite, childBlack, Color.BLACK, childValue);
+            if (best == 0 || TablebaseGenerator.isBetter(value, bestValue)) {
+                best = move;
+                bestValue = value;
+            }
+        }
+        List<Move> result = new ArrayList<>();
+        if (best != 0) {
+            result.add(MoveGenerator.toMove(best));
+        }
+        return result;
+    }
+}
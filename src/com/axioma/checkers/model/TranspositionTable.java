@@ -0,0 +1,98 @@
+package com.axioma.checkers.model;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size, depth-preferred transposition table that several search threads can share
+ * without locking. Each slot holds two longs, {@code key ^ data} and {@code data}; a torn
+ * write from a racing thread fails the XOR check on probe and reads as a miss.
+ *
+ * <p>Packed data layout: bits 0-31 score, 32-42 move, 43-50 depth, 51-52 bound,
+ * 53-58 search generation, bit 63 always set so a valid entry is never zero.
+ */
+public final class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    private static final long VALID = 1L << 63;
+
+    private final long[] slots;
+    private final int mask;
+    private int generation;
+
+    /**
+     * @param sizeMegabytes table size, rounded down to a power of two number of slots
+     */
+    public TranspositionTable(int sizeMegabytes) {
+        if (sizeMegabytes < 1 || sizeMegabytes > 1024) {
+            throw new IllegalArgumentException("sizeMegabytes must be between 1 and 1024");
+        }
+        int entries = Integer.highestOneBit(sizeMegabytes * (1 << 20) / 16);
+        this.slots = new long[entries * 2];
+        this.mask = entries - 1;
+    }
+
+    /**
+     * Starts a new search generation; entries from older generations are replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 63;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0L);
+    }
+
+    /**
+     * @return the packed entry for {@code key}, or 0 on a miss
+     */
+    public long probe(long key) {
+        int i = ((int) key & mask) << 1;
+        long data = slots[i + 1];
+        return (slots[i] ^ data) == key ? data : 0L;
+    }
+
+    /**
+     * Stores an entry, keeping a deeper entry of the current generation for another key in place.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int i = ((int) key & mask) << 1;
+        long oldData = slots[i + 1];
+        boolean sameKey = (slots[i] ^ oldData) == key;
+        if (oldData != 0 && !sameKey && generation(oldData) == generation && depth(oldData) > depth) {
+            return;
+        }
+        if (move == 0 && sameKey) {
+            move = move(oldData);
+        }
+        long data = VALID
+                | ((long) generation << 53)
+                | ((long) bound << 51)
+                | ((long) depth << 43)
+                | ((long) move << 32)
+                | (score & 0xFFFFFFFFL);
+        slots[i] = key ^ data;
+        slots[i + 1] = data;
+    }
+
+    public static int score(long data) {
+        return (int) data;
+    }
+
+    public static int move(long data) {
+        return (int) (data >>> 32) & 0x7FF;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 43) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 51) & 3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 53) & 63;
+    }
+}
@@ -0,0 +1,55 @@
+package com.axioma.checkers.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for positions. Keys come from a fixed seed so they are stable across
+ * runs and can be stored on disk.
+ */
+public final class Zobrist {
+    /** XORed into a position key when Black is to move. */
+    public static final long BLACK_TO_MOVE;
+
+    private static final long[] WHITE_KEYS = new long[Squares.COUNT];
+    private static final long[] BLACK_KEYS = new long[Squares.COUNT];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C4EC_0E25L);
+        for (int s = 0; s < Squares.COUNT; s++) {
+            WHITE_KEYS[s] = random.nextLong();
+            BLACK_KEYS[s] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @return the key of a single piece of the given color on the given square
+     */
+    public static long piece(Color color, int square) {
+        return color == Color.WHITE ? WHITE_KEYS[square] : BLACK_KEYS[square];
+    }
+
+    /**
+     * Computes the placement key of a position from scratch.
+     */
+    public static long of(int white, int black) {
+        long key = 0;
+        for (int m = white; m != 0; m &= m - 1) {
+            key ^= WHITE_KEYS[Integer.numberOfTrailingZeros(m)];
+        }
+        for (int m = black; m != 0; m &= m - 1) {
+            key ^= BLACK_KEYS[Integer.numberOfTrailingZeros(m)];
+        }
+        return key;
+    }
+
+    /**
+     * @return the placement key combined with the side to move
+     */
+    public static long withSide(long placementKey, Color toMove) {
+        return toMove == Color.BLACK ? placementKey ^ BLACK_TO_MOVE : placementKey;
+    }
+}
@@ -41,9 +41,10 @@ public final class InputHandler {
     }
 
     /**
-     * Parses a move string like "A3->B4" into a Move.
+     * Parses a move string like "A3->B4" into a Move. Touches no console stream, so it also
+     * serves network sessions.
      */
-    public Move parseMove(String text) {
+    public static Move parseMove(String text) {
         if (text == null) return null;
         String s = text.trim().toUpperCase(Locale.ROOT);
         String[] parts = s.split("->");
@@ -55,7 +56,7 @@ public final class InputHandler {
     }
 
     // Converts like "A3" to (row, col) 0-based where A1 is bottom-left from White's perspective
-    private int[] parseCell(String cell) {
+    private static int[] parseCell(String cell) {
         if (cell.length() < 2) return null;
         char colChar = cell.charAt(0);
         if (colChar < 'A' || colChar > 'H') return null;
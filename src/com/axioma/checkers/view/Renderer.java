@@ -3,65 +3,184 @@ package com.axioma.checkers.view;
 import com.axioma.checkers.model.Board;
 import com.axioma.checkers.model.Color;
 import com.axioma.checkers.model.Game;
-import com.axioma.checkers.model.Piece;
+import com.axioma.checkers.model.Move;
+import com.axioma.checkers.model.Squares;
+
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
 
 /**
  * Console renderer for the checkers board and messages.
+ * A board frame is composed in one reused character buffer, laid out once, and written
+ * with a single call and flush, so output piped to a log costs one write per frame.
  */
 public final class Renderer {
+    /**
+     * How much of the board {@link #renderBoard} draws.
+     */
+    public enum Mode {
+        /** The whole board every time. */
+        FULL,
+        /** The whole board once, then only the squares that changed. */
+        DIFF,
+        /** No board or status; moves are listed through {@link #renderMove} instead. */
+        QUIET
+    }
+
+    private static final String NEWLINE = System.lineSeparator();
+    private static final String FILES = "    A   B   C   D   E   F   G   H";
+    private static final String BORDER = "  +---+---+---+---+---+---+---+---+";
+
+    private final PrintWriter out;
+    private final Mode mode;
+    private final char[] frame;
+    private final int[] cellOffsets = new int[Squares.COUNT];
+    private final char[] line = new char["Changed:".length() + 5 * Squares.COUNT];
+    private boolean drawn;
+    private int lastWhite;
+    private int lastBlack;
+
+    /**
+     * Renders full boards to standard output.
+     */
+    public Renderer() {
+        this(new OutputStreamWriter(System.out), Mode.FULL);
+    }
+
+    public Renderer(Writer out, Mode mode) {
+        this.out = out instanceof PrintWriter ? (PrintWriter) out : new PrintWriter(out, false);
+        this.mode = mode;
+        this.frame = layoutFrame();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
 
     /**
      * Renders the board to the console with coordinates.
      */
     public void renderBoard(Board board) {
-        System.out.println();
-        System.out.println("    A   B   C   D   E   F   G   H");
-        System.out.println("  +---+---+---+---+---+---+---+---+");
-        for (int r = 0; r < Board.SIZE; r++) {
-            int displayRow = Board.SIZE - r;
-            StringBuilder row = new StringBuilder();
-            row.append(displayRow).append(" |");
-            for (int c = 0; c < Board.SIZE; c++) {
-                Piece piece = board.get(r, c);
-                char cellChar = toCellChar(piece, r, c);
-                row.append(" ").append(cellChar).append(" |");
+        int white = board.getWhiteMask();
+        int black = board.getBlackMask();
+        if (mode == Mode.QUIET) return;
+        if (mode == Mode.DIFF && drawn) {
+            renderChanges(white, black);
+        } else {
+            for (int s = 0; s < Squares.COUNT; s++) {
+                frame[cellOffsets[s]] = cellChar(white, black, s);
             }
-            row.append(" ").append(displayRow);
-            System.out.println(row);
-            System.out.println("  +---+---+---+---+---+---+---+---+");
+            out.write(frame, 0, frame.length);
+            out.flush();
         }
-        System.out.println("    A   B   C   D   E   F   G   H");
-        System.out.println();
+        drawn = true;
+        lastWhite = white;
+        lastBlack = black;
     }
 
     /**
      * Prints a status line indicating whose turn it is.
      */
     public void renderStatus(Game game) {
+        if (mode == Mode.QUIET) return;
         Color turn = game.getCurrentTurn();
-        System.out.println("Turn: " + (turn == Color.WHITE ? "White (You)" : "Black (Computer)"));
+        showMessage(turn == Color.WHITE ? "Turn: White (You)" : "Turn: Black (Computer)");
+    }
+
+    /**
+     * Lists a move in quiet mode, where no board shows it; other modes print nothing.
+     */
+    public void renderMove(Color player, Move move) {
+        if (mode != Mode.QUIET) return;
+        out.write(player == Color.WHITE ? "White: " : "Black: ");
+        int n = appendMove(line, 0, move);
+        out.write(line, 0, n);
+        out.write(NEWLINE);
+        out.flush();
     }
 
     /**
      * Prints an arbitrary message.
      */
     public void showMessage(String message) {
-        System.out.println(message);
+        out.write(message);
+        out.write(NEWLINE);
+        out.flush();
     }
 
-    private char toCellChar(Piece piece, int r, int c) {
-        if (piece != null) {
-            if (piece.getColor() == Color.WHITE) {
-                return  'W';
-            } else {
-                return  'B';
-            }
+    /**
+     * Formats a move in the input notation, e.g. "A3->B4". Touches no output stream, so it
+     * also serves network sessions.
+     */
+    public static String formatMove(Move m) {
+        char[] chars = new char[6];
+        return new String(chars, 0, appendMove(chars, 0, m));
+    }
+
+    /**
+     * Prints one line such as {@code Changed: A3 . B4 W} naming every square whose contents
+     * differ from the previous frame, or nothing if the board is unchanged.
+     */
+    private void renderChanges(int white, int black) {
+        int changed = (white ^ lastWhite) | (black ^ lastBlack);
+        if (changed == 0) return;
+        int n = copy("Changed:", line, 0);
+        for (; changed != 0; changed &= changed - 1) {
+            int s = Integer.numberOfTrailingZeros(changed);
+            line[n++] = ' ';
+            line[n++] = (char) ('A' + Squares.col(s));
+            line[n++] = (char) ('0' + Board.SIZE - Squares.row(s));
+            line[n++] = ' ';
+            line[n++] = cellChar(white, black, s);
         }
-        // Dark squares are playable where (r+c) is odd.
-        return ((r + c) % 2 == 1) ? '.' : ' ';
+        out.write(line, 0, n);
+        out.write(NEWLINE);
+        out.flush();
     }
-}
 
+    private static int appendMove(char[] chars, int n, Move m) {
+        chars[n++] = (char) ('A' + m.getFromCol());
+        chars[n++] = (char) ('0' + Board.SIZE - m.getFromRow());
+        chars[n++] = '-';
+        chars[n++] = '>';
+        chars[n++] = (char) ('A' + m.getToCol());
+        chars[n++] = (char) ('0' + Board.SIZE - m.getToRow());
+        return n;
+    }
 
+    /**
+     * Lays out the constant parts of a frame and records where each dark square's cell goes.
+     */
+    private char[] layoutFrame() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(NEWLINE).append(FILES).append(NEWLINE).append(BORDER).append(NEWLINE);
+        for (int r = 0; r < Board.SIZE; r++) {
+            int displayRow = Board.SIZE - r;
+            sb.append(displayRow).append(" |");
+            for (int c = 0; c < Board.SIZE; c++) {
+                sb.append(' ');
+                if (Squares.isDark(r, c)) cellOffsets[Squares.index(r, c)] = sb.length();
+                sb.append(' ').append(" |");
+            }
+            sb.append(' ').append(displayRow).append(NEWLINE);
+            sb.append(BORDER).append(NEWLINE);
+        }
+        sb.append(FILES).append(NEWLINE).append(NEWLINE);
+        char[] chars = new char[sb.length()];
+        sb.getChars(0, sb.length(), chars, 0);
+        return chars;
+    }
 
+    private static int copy(String text, char[] chars, int n) {
+        text.getChars(0, text.length(), chars, n);
+        return n + text.length();
+    }
 
+    private static char cellChar(int white, int black, int square) {
+        if ((white & (1 << square)) != 0) return 'W';
+        if ((black & (1 << square)) != 0) return 'B';
+        // Dark squares are playable; light squares never change and keep their blank
+        return '.';
+    }
+}